@@ -1,18 +1,25 @@
 package de.leunosam.json;
 
+import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
-import java.util.LinkedList;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 import de.leunosam.json.deserialize.JsonDeserializationException;
 import de.leunosam.json.deserialize.JsonDeserializer;
+import de.leunosam.json.deserialize.JsonReflectiveDeserializer;
+import de.leunosam.json.deserialize.JsonTokenizer;
 import de.leunosam.json.serialize.JsonSerializationException;
 import de.leunosam.json.serialize.JsonSerializer;
 import de.leunosam.json.util.JsonClass;
+import de.leunosam.json.util.JsonCodec;
+import de.leunosam.json.util.JsonCodecs;
 import de.leunosam.json.util.JsonField;
+import de.leunosam.json.util.JsonFieldAccessor;
+import de.leunosam.json.util.JsonFieldKind;
 import de.leunosam.json.util.JsonFields;
 
 /**
@@ -27,6 +34,45 @@ public abstract class Json implements Serializable {
 
     private static final long serialVersionUID = 3916914607743930988L;
 
+    // true if a class overrides getSerializer() without getSerializer(Appendable)
+    private static final ClassValue<Boolean> CUSTOM_SERIALIZER = new ClassValue<>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> clazz) {
+            for (Class<?> c = clazz; !c.equals(Json.class); c = c.getSuperclass()) {
+                if (declaresMethod(c, Appendable.class)) {
+                    return false;
+                } else if (declaresMethod(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean declaresMethod(Class<?> c, Class<?>... parameterTypes) {
+            try {
+                c.getDeclaredMethod("getSerializer", parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private static final ClassValue<JsonDeserializer<?>> DESERIALIZERS = new ClassValue<>() {
+
+        @Override
+        protected JsonDeserializer<?> computeValue(Class<?> clazz) {
+            try {
+                Constructor<?> constructor = clazz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return ((Json) constructor.newInstance()).getDeserializer();
+            } catch (ReflectiveOperationException e) {
+                throw new JsonDeserializationException(e);
+            }
+        }
+    };
+
     /**
      * Creates a new Json without any {@link JsonField}s.
      */
@@ -46,41 +92,89 @@ public abstract class Json implements Serializable {
 
     /**
      * Return an {@link JsonDeserializer}, which can convert the a Json-String to an
-     * instance of your Json-class.<br>
+     * instance of your Json-class. If the
+     * {@link de.leunosam.json.processor.JsonCodecProcessor} generated a
+     * {@link JsonCodec} for your class, its deserializer is returned by default,
+     * otherwise a {@link JsonReflectiveDeserializer}.<br>
      * Hint: you can change the return value of this function to
      * JsonDeserializer&ltYourClass&gt.
      * 
      * @return a {@link JsonDeserializer} for your class
      */
-    protected abstract JsonDeserializer<? extends Json> getDeserializer();
+    protected JsonDeserializer<? extends Json> getDeserializer() {
+        JsonCodec<? extends Json> codec = JsonCodecs.getCodec(getClass());
+        return codec == null ? JsonReflectiveDeserializer.of(getClass())
+                : codec.getDeserializer();
+    }
+
+    /**
+     * Returns the {@link JsonDeserializer} of the given {@link Json}-Class, e.g.
+     * for nested {@link Json}s. For this an instance is created once with the
+     * constructor without parameters.
+     * 
+     * @param <T>       your {@link Json}-Class
+     * @param jsonClass a {@link Class}
+     * @return the {@link JsonDeserializer} of the class.
+     * @throws JsonDeserializationException if the class can't be instantiated.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Json> JsonDeserializer<T> deserializerOf(Class<T> jsonClass) {
+        return (JsonDeserializer<T>) DESERIALIZERS.get(jsonClass);
+    }
 
     /**
      * Deserializes the given Json-String and saves its values into the Json-Object.
+     * The values are written directly into the fields, if the
+     * {@link JsonDeserializer} supports it. Afterwards the Json-Object is equal to
+     * a new one of the same Json-String: {@link JsonField}s, which are missing in
+     * the Json-String (or null for a primitive field), get the values of a new
+     * instance, they don't keep their previous values. The same applies to the
+     * other deserialize-methods.
      * 
      * @param json a {@link String}, which is a representation of this Json-Class.
      * 
      * @throws JsonDeserializationException if the deserialization fails.
+     * @see JsonDeserializer#readInto(Json, JsonTokenizer)
      */
     public void deserialize(String json) {
-        try {
-            update(getDeserializer().getObject(json));
-        } catch (IllegalAccessException e) {
-            // should never happen
-            throw new JsonDeserializationException(e);
-        } catch (IllegalStateException e) {
-            // happens if registered Deserializer returns a wrong type.
-            throw new JsonDeserializationException(e);
-        }
+        deserialize(new JsonTokenizer(json));
     }
 
-    private <T extends Json> void update(T newValues) throws IllegalAccessException {
-        if (!this.getClass().equals(newValues.getClass())) {
-            throw new IllegalStateException("Deserializer returns not the right class!");
-        }
+    /**
+     * Deserializes the given UTF-8 bytes and saves their values into the
+     * Json-Object. The bytes are not decoded into a {@link String} first.
+     * 
+     * @param json   the UTF-8 bytes of this Json-Class.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * 
+     * @throws JsonDeserializationException if the deserialization fails.
+     */
+    public void deserialize(byte[] json, int offset, int length) {
+        deserialize(new JsonTokenizer(json, offset, length));
+    }
+
+    /**
+     * Deserializes the UTF-8 bytes between position and limit of the given
+     * {@link ByteBuffer} and saves their values into the Json-Object.
+     * 
+     * @param json a {@link ByteBuffer}, which contains this Json-Class.
+     * 
+     * @throws JsonDeserializationException if the deserialization fails.
+     */
+    public void deserialize(ByteBuffer json) {
+        deserialize(new JsonTokenizer(json));
+    }
 
-        for (Field field : getJsonFields()) {
-            field.set(this, field.get(newValues));
+    @SuppressWarnings("unchecked")
+    private void deserialize(JsonTokenizer tokenizer) {
+        try {
+            ((JsonDeserializer<Json>) getDeserializer()).readInto(this, tokenizer);
+        } catch (ClassCastException e) {
+            // happens if registered Deserializer is for another class.
+            throw new JsonDeserializationException(e);
         }
+        tokenizer.endOfInput();
     }
 
     /**
@@ -93,11 +187,34 @@ public abstract class Json implements Serializable {
         return getSerializer().toString();
     }
 
+    /**
+     * Serializes all {@link JsonField}s directly to the given {@link Appendable},
+     * e.g. a {@link java.io.Writer}. Nested {@link Json}s are written to the same
+     * {@link Appendable}, so no intermediate {@link String}s are created.
+     * 
+     * @param out the {@link Appendable}, which receives the Json.
+     * @throws throws a {@link JsonSerializationException} if the serialization
+     *                fails.
+     */
+    public void serialize(Appendable out) {
+        if (CUSTOM_SERIALIZER.get(getClass())) {
+            // a hand-written getSerializer() has to be respected
+            try {
+                out.append(getSerializer().toString());
+            } catch (IOException e) {
+                throw new JsonSerializationException(e);
+            }
+        } else {
+            getSerializer(out).finish();
+        }
+    }
+
     /**
      * Generates a {@link JsonSerializer} with the help of the
      * {@link JsonField}-Annotations. This works through reflections. If you don't
      * want to use this JsonSerializer, because it's too slow, write a new
-     * JsonSerializer for your Json and override this method.
+     * JsonSerializer for your Json and override this method or
+     * {@link Json#getSerializer(Appendable)}.
      * 
      * @return a {@link JsonSerializer}, which contains all {@link JsonField}
      *         values.
@@ -105,107 +222,107 @@ public abstract class Json implements Serializable {
      *                fails.
      */
     protected JsonSerializer getSerializer() {
-        JsonSerializer serializer = new JsonSerializer();
+        return getSerializer(new StringBuilder());
+    }
+
+    /**
+     * Generates a {@link JsonSerializer}, which writes all {@link JsonField}
+     * values directly to the given {@link Appendable}. This works through
+     * reflections, like {@link Json#getSerializer()}, unless the
+     * {@link de.leunosam.json.processor.JsonCodecProcessor} generated a
+     * {@link JsonCodec} for your class.
+     * 
+     * @param out the {@link Appendable}, which receives the Json.
+     * @return a {@link JsonSerializer}, which contains all {@link JsonField}
+     *         values, but is not finished yet.
+     * @throws throws a {@link JsonSerializationException} if the serialization
+     *                fails.
+     */
+    protected JsonSerializer getSerializer(Appendable out) {
+        JsonSerializer serializer = new JsonSerializer(out);
+        JsonCodec<Json> codec = getCodec();
+        if (codec != null) {
+            codec.serialize(this, serializer);
+            return serializer;
+        }
         if (getClass().isAnnotationPresent(JsonClass.class)) {
             serializer.addStringField("class", getClass().getSimpleName());
         }
-        Object value;
-        String fieldName;
-        try {
-            for (Field field : getJsonFields()) {
-                value = field.get(this);
-                fieldName = determineJsonFieldName(field);
-                addFieldToSerializer(value, fieldName, field, serializer);
-            }
-        } catch (IllegalAccessException e) {
-            // should never happen
-            throw new JsonSerializationException(e);
-        } catch (IllegalArgumentException e) {
-            // happens if field is not serializable
-            throw new JsonSerializationException(e);
+        for (JsonFieldAccessor accessor : getAccessors()) {
+            addFieldToSerializer(accessor.get(this), accessor, serializer);
         }
         return serializer;
     }
 
-    private static void addFieldToSerializer(Object value, String fieldName, Field field,
-            JsonSerializer serializer) throws IllegalArgumentException {
-        if (value instanceof Boolean b) {
-            serializer.addBooleanField(fieldName, b);
-        } else if (value instanceof Integer i) {
-            serializer.addIntegerField(fieldName, i);
-        } else if (value instanceof Long l) {
-            serializer.addLongField(fieldName, l);
-        } else if (value instanceof Double d) {
-            serializer.addDoubleField(fieldName, d);
-        } else if (value instanceof String str) {
-            serializer.addStringField(fieldName, str);
-        } else if (value instanceof Json edo) {
-            serializer.addObjectField(fieldName, edo);
-        } else if (value instanceof List<?> list) {
-            addListToSerializer(list, field, fieldName, serializer);
-        } else if (value == null) {
+    private static void addFieldToSerializer(Object value, JsonFieldAccessor accessor,
+            JsonSerializer serializer) {
+        String fieldName = accessor.getJsonName();
+        if (value == null) {
             serializer.addNullField(fieldName);
-        } else {
-            throw new IllegalArgumentException(
-                    "The field " + fieldName + " is not json-serializeable");
+            return;
+        }
+        // e.g. an Object-field, its kind depends on the value
+        JsonFieldKind kind = accessor.getKind() == JsonFieldKind.UNKNOWN
+                ? JsonFieldKind.of(value.getClass())
+                : accessor.getKind();
+        switch (kind) {
+        case BOOLEAN -> serializer.addBooleanField(fieldName, (Boolean) value);
+        case INTEGER -> serializer.addIntegerField(fieldName, (Integer) value);
+        case LONG -> serializer.addLongField(fieldName, (Long) value);
+        case DOUBLE -> serializer.addDoubleField(fieldName, (Double) value);
+        case STRING -> serializer.addStringField(fieldName, (String) value);
+        case OBJECT -> serializer.addObjectField(fieldName, (Json) value);
+        case LIST -> addListToSerializer((List<?>) value, accessor, serializer);
+        case BOOLEAN_ARRAY -> serializer.addBooleanArrayField(fieldName, (boolean[]) value);
+        case INT_ARRAY -> serializer.addIntArrayField(fieldName, (int[]) value);
+        case LONG_ARRAY -> serializer.addLongArrayField(fieldName, (long[]) value);
+        case DOUBLE_ARRAY -> serializer.addDoubleArrayField(fieldName, (double[]) value);
+        default -> throw new JsonSerializationException(
+                "The field " + fieldName + " is not json-serializeable");
         }
     }
 
     @SuppressWarnings("unchecked")
-    private static void addListToSerializer(List<?> list, Field listField, String fieldName,
+    private static void addListToSerializer(List<?> list, JsonFieldAccessor accessor,
             JsonSerializer serializer) {
-        ParameterizedType listType = (ParameterizedType) listField.getGenericType();
-        Class<?> listTypeClass = (Class<?>) listType.getActualTypeArguments()[0];
-        if (listTypeClass.equals(Boolean.class)) {
-            serializer.addBooleanArrayField(fieldName, (List<Boolean>) list);
-        } else if (listTypeClass.equals(Integer.class)) {
-            serializer.addIntegerArrayField(fieldName, (List<Integer>) list);
-        } else if (listTypeClass.equals(Long.class)) {
-            serializer.addLongArrayField(fieldName, (List<Long>) list);
-        } else if (listTypeClass.equals(Double.class)) {
-            serializer.addDoubleArrayField(fieldName, (List<Double>) list);
-        } else if (listTypeClass.equals(String.class)) {
-            serializer.addStringArrayField(fieldName, (List<String>) list);
-        } else if (isJson(listTypeClass)) {
-            serializer.addObjectArrayField(fieldName, (List<Json>) list);
-        } else {
-            throw new JsonSerializationException(
-                    "The List " + fieldName + " contains a not serializeable Type!");
+        String fieldName = accessor.getJsonName();
+        switch (accessor.getElementKind()) {
+        case BOOLEAN -> serializer.addBooleanArrayField(fieldName, (List<Boolean>) list);
+        case INTEGER -> serializer.addIntegerArrayField(fieldName, (List<Integer>) list);
+        case LONG -> serializer.addLongArrayField(fieldName, (List<Long>) list);
+        case DOUBLE -> serializer.addDoubleArrayField(fieldName, (List<Double>) list);
+        case STRING -> serializer.addStringArrayField(fieldName, (List<String>) list);
+        case OBJECT -> {
+            if (accessor.isParallel()) {
+                serializer.addObjectArrayFieldParallel(fieldName, (List<Json>) list);
+            } else {
+                serializer.addObjectArrayField(fieldName, (List<Json>) list);
+            }
         }
-    }
-
-    private static boolean isJson(Class<?> clazz) {
-        if (clazz.equals(Json.class)) {
-            return true;
+        default -> throw new JsonSerializationException(
+                "The List " + fieldName + " contains a not serializeable Type!");
         }
-        Class<?> superClazz = clazz.getSuperclass();
-        return superClazz == null ? false : isJson(superClazz);
     }
 
-    private String determineJsonFieldName(Field field) {
-        String fieldName = field.getAnnotation(JsonField.class).value();
-        if (fieldName.isBlank()) {
-            fieldName = field.getName();
-        }
-        return fieldName;
+    @SuppressWarnings("unchecked")
+    private JsonCodec<Json> getCodec() {
+        return (JsonCodec<Json>) JsonCodecs.getCodec(getClass());
     }
 
-    private List<Field> getJsonFields() {
-        return JsonFields.getJsonFields(getClass());
+    private List<JsonFieldAccessor> getAccessors() {
+        return JsonFields.getAccessors(getClass());
     }
 
     @Override
     public int hashCode() {
-        List<Object> objects = new LinkedList<>();
-        for (Field field : getJsonFields()) {
-            try {
-                objects.add(field.get(this));
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                // should never happen
-                e.printStackTrace();
-            }
+        List<JsonFieldAccessor> accessors = getAccessors();
+        Object[] values = new Object[accessors.size()];
+        int i = 0;
+        for (JsonFieldAccessor accessor : accessors) {
+            values[i++] = accessor.get(this);
         }
-        return Objects.hash(objects.toArray());
+        // deep, because primitive arrays have no value-based hashCode
+        return Arrays.deepHashCode(values);
     }
 
     @Override
@@ -219,24 +336,19 @@ public abstract class Json implements Serializable {
         if (getClass() != other.getClass()) {
             return false;
         }
-        try {
-            Object thisValue;
-            Object otherValue;
-            for (Field field : getJsonFields()) {
-                thisValue = field.get(this);
-                otherValue = field.get(other);
-                // null check, otherwise equals is not possible
-                if (thisValue == null && otherValue == null) {
-                    continue;
-                } else if (thisValue == null) {
-                    return false;
-                } else if (!thisValue.equals(otherValue)) {
-                    return false;
-                }
+        Object thisValue;
+        Object otherValue;
+        for (JsonFieldAccessor accessor : getAccessors()) {
+            thisValue = accessor.get(this);
+            otherValue = accessor.get((Json) other);
+            // null check, otherwise equals is not possible
+            if (thisValue == null && otherValue == null) {
+                continue;
+            } else if (thisValue == null) {
+                return false;
+            } else if (!Objects.deepEquals(thisValue, otherValue)) {
+                return false;
             }
-        } catch (IllegalAccessException e) {
-            // should never happen
-            return false;
         }
         return true;
     }
@@ -0,0 +1,248 @@
+package de.leunosam.json.deserialize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.leunosam.json.Json;
+
+/**
+ * A {@link Flow.Publisher}, which publishes the elements of a top-level
+ * Json-Array, e.g. the body of a HTTP-response. The elements are read by a
+ * {@link JsonReader} and deserialized one at a time, only if the
+ * {@link Flow.Subscriber} has requested them. So a slow subscriber never makes
+ * the whole array buffered, only the buffer of the {@link JsonReader} and the
+ * current element are in the memory. Null elements are skipped, a null array
+ * completes immediately. The input can only be read once, so there is only one
+ * subscriber. The reader is closed, when the array is complete, the
+ * subscription is cancelled or an error occurs. A subscriber, whose onNext
+ * throws an exception, is treated as cancelled (Reactive Streams §2.13), the
+ * exception isn't signalled back to it.<br>
+ * The elements are read on the given {@link Executor}, which blocks while the
+ * input waits for bytes, e.g. of a slow network. Don't use the
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()} for such input, it
+ * would block the parallel streams and other tasks of the JVM.
+ *
+ * @param <T> your {@link Json}-Class
+ * @author LeunoSam
+ */
+public class JsonArrayPublisher<T extends Json> implements Flow.Publisher<T> {
+
+    private final JsonReader reader;
+    private final JsonDeserializer<T> deserializer;
+    private final Executor executor;
+    private final AtomicBoolean isSubscribed = new AtomicBoolean(false);
+
+    /**
+     * Creates a new JsonArrayPublisher.
+     *
+     * @param in           an {@link InputStream} with the UTF-8 bytes of a
+     *                     Json-Array.
+     * @param deserializer the {@link JsonDeserializer} of the elements.
+     * @param executor     the {@link Executor}, which reads the elements and
+     *                     calls the subscriber. Its threads block, while the
+     *                     {@link InputStream} waits for bytes.
+     */
+    public JsonArrayPublisher(InputStream in, JsonDeserializer<T> deserializer,
+            Executor executor) {
+        this(new JsonReader(in), deserializer, executor);
+    }
+
+    /**
+     * Creates a new JsonArrayPublisher.
+     *
+     * @param reader       a {@link JsonReader}, whose next value is a Json-Array.
+     * @param deserializer the {@link JsonDeserializer} of the elements.
+     * @param executor     the {@link Executor}, which reads the elements and
+     *                     calls the subscriber. Its threads block, while the
+     *                     input waits for bytes.
+     */
+    public JsonArrayPublisher(JsonReader reader, JsonDeserializer<T> deserializer,
+            Executor executor) {
+        super();
+        this.reader = reader;
+        this.deserializer = deserializer;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!isSubscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                public void request(long n) {
+                    // nothing to publish
+                }
+
+                @Override
+                public void cancel() {
+                    // nothing to cancel
+                }
+            });
+            subscriber.onError(new IllegalStateException("The array is already subscribed"));
+            return;
+        }
+        ArraySubscription subscription = new ArraySubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Reads the requested elements on the {@link Executor}. Every call of
+     * request or cancel increases the number of missed signals, only the first
+     * one starts a task, which runs until all signals are handled. So the
+     * subscriber is never called concurrently, even if it requests more
+     * elements in onNext.
+     */
+    private class ArraySubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong(0);
+        private final AtomicInteger missed = new AtomicInteger(0);
+        private volatile boolean isCancelled = false;
+        private volatile Throwable invalidRequest;
+        // only used by the running task
+        private boolean isStarted = false;
+        private boolean isDone = false;
+
+        private ArraySubscription(Flow.Subscriber<? super T> subscriber) {
+            super();
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " elements");
+            } else {
+                // the demand is unbounded, if it overflows
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0
+                        ? Long.MAX_VALUE
+                        : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+            signal();
+        }
+
+        private void signal() {
+            if (missed.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // no task will run, so the subscriber is not called concurrently
+                    finish(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int signals = 1;
+            do {
+                publish();
+                signals = missed.addAndGet(-signals);
+            } while (signals != 0);
+        }
+
+        private void publish() {
+            if (isDone) {
+                return;
+            } else if (isCancelled) {
+                finish(null);
+                return;
+            } else if (invalidRequest != null) {
+                finish(invalidRequest);
+                return;
+            }
+            try {
+                if (!isStarted) {
+                    isStarted = true;
+                    if (reader.readNull()) {
+                        reader.endOfInput();
+                        finish(null);
+                        return;
+                    }
+                    reader.beginArray();
+                }
+                while (demand.get() > 0 && !isCancelled) {
+                    if (!reader.hasNext()) {
+                        reader.endArray();
+                        reader.endOfInput();
+                        finish(null);
+                        return;
+                    }
+                    T element = reader.readObject(deserializer);
+                    if (element != null) {
+                        if (demand.get() != Long.MAX_VALUE) {
+                            demand.decrementAndGet();
+                        }
+                        if (!onNext(element)) {
+                            return;
+                        }
+                    }
+                }
+                if (isCancelled) {
+                    finish(null);
+                }
+            } catch (IOException | RuntimeException e) {
+                finish(e);
+            }
+        }
+
+        /**
+         * Passes the element to the subscriber. An exception of the subscriber
+         * cancels the subscription, so it isn't mixed up with the errors of the
+         * input.
+         *
+         * @return false if the subscriber threw an exception.
+         */
+        private boolean onNext(T element) {
+            try {
+                subscriber.onNext(element);
+                return true;
+            } catch (RuntimeException e) {
+                isCancelled = true;
+                finish(null);
+                return false;
+            }
+        }
+
+        /**
+         * Closes the reader and signals the end to the subscriber, unless the
+         * subscription is cancelled.
+         *
+         * @param error the cause or null, if the array is complete.
+         */
+        private void finish(Throwable error) {
+            isDone = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+            if (isCancelled) {
+                return;
+            } else if (error == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(error);
+            }
+        }
+
+    }
+
+}
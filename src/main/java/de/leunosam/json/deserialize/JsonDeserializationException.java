@@ -16,4 +16,12 @@ public class JsonDeserializationException extends RuntimeException {
         super(cause);
     }
 
+    public JsonDeserializationException(String message) {
+        super(message);
+    }
+
+    public JsonDeserializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
@@ -1,13 +1,20 @@
 package de.leunosam.json.deserialize;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import de.leunosam.json.Json;
-import de.leunosam.json.util.JsonConstants;
 import de.leunosam.json.util.JsonField;
+import de.leunosam.json.util.JsonFieldAccessor;
+import de.leunosam.json.util.JsonFields;
 
 /**
  * If you add a new {@link Json}-Class, you need to create an own
@@ -19,6 +26,9 @@ import de.leunosam.json.util.JsonField;
  */
 public abstract class JsonDeserializer<O extends Json> {
 
+    // the minimum number of elements, which are deserialized by one task
+    private static final int MIN_CHUNK_SIZE = 64;
+
     public JsonDeserializer() {
         super();
     }
@@ -31,6 +41,138 @@ public abstract class JsonDeserializer<O extends Json> {
      */
     public abstract O getObject(String json) throws JsonDeserializationException;
 
+    /**
+     * Deserializes the next value of the given {@link JsonTokenizer} into a
+     * {@link Json}-Object. The default implementation copies the value and calls
+     * {@link JsonDeserializer#getObject(String)}. Override this method, if your
+     * deserializer can read the fields directly from the {@link JsonTokenizer},
+     * then byte-input is never decoded into a {@link String}.
+     * 
+     * @param tokenizer a {@link JsonTokenizer}, whose next value is a Json.
+     * @return a {@link Json}-Object.
+     */
+    public O getObject(JsonTokenizer tokenizer) throws JsonDeserializationException {
+        tokenizer.skipValue();
+        return getObject(tokenizer.getValue());
+    }
+
+    /**
+     * Deserializes the given UTF-8 bytes into a {@link Json}-Object.
+     * 
+     * @param json   the UTF-8 bytes of a Json.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return a {@link Json}-Object.
+     */
+    public O getObject(byte[] json, int offset, int length) throws JsonDeserializationException {
+        return readObject(new JsonTokenizer(json, offset, length));
+    }
+
+    /**
+     * Deserializes the UTF-8 bytes between position and limit of the given
+     * {@link ByteBuffer} into a {@link Json}-Object. The position of the
+     * {@link ByteBuffer} is not changed.
+     * 
+     * @param json a {@link ByteBuffer}, which contains a Json.
+     * @return a {@link Json}-Object.
+     */
+    public O getObject(ByteBuffer json) throws JsonDeserializationException {
+        return readObject(new JsonTokenizer(json));
+    }
+
+    private O readObject(JsonTokenizer tokenizer) {
+        O result = getObject(tokenizer);
+        tokenizer.endOfInput();
+        return result;
+    }
+
+    /**
+     * Deserializes a Json-Array of {@link Json}s on several threads, see
+     * {@link JsonDeserializer#readObjectListParallel(JsonTokenizer, JsonDeserializer)}.
+     * 
+     * @param json a {@link String}, which contains a Json-Array.
+     * @return a {@link List} in the order of the Json-Array, null if the Json is
+     *         null.
+     */
+    public List<O> getObjectListParallel(String json) throws JsonDeserializationException {
+        return readObjectListParallel(new JsonTokenizer(json));
+    }
+
+    /**
+     * Deserializes the UTF-8 bytes of a Json-Array of {@link Json}s on several
+     * threads.
+     * 
+     * @param json   the UTF-8 bytes of a Json-Array.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return a {@link List} in the order of the Json-Array, null if the Json is
+     *         null.
+     * @see JsonDeserializer#getObjectListParallel(String)
+     */
+    public List<O> getObjectListParallel(byte[] json, int offset, int length)
+            throws JsonDeserializationException {
+        return readObjectListParallel(new JsonTokenizer(json, offset, length));
+    }
+
+    /**
+     * Deserializes the UTF-8 bytes of a Json-Array of {@link Json}s between
+     * position and limit of the given {@link ByteBuffer} on several threads.
+     * 
+     * @param json a {@link ByteBuffer}, which contains a Json-Array.
+     * @return a {@link List} in the order of the Json-Array, null if the Json is
+     *         null.
+     * @see JsonDeserializer#getObjectListParallel(String)
+     */
+    public List<O> getObjectListParallel(ByteBuffer json) throws JsonDeserializationException {
+        return readObjectListParallel(new JsonTokenizer(json));
+    }
+
+    private List<O> readObjectListParallel(JsonTokenizer tokenizer) {
+        List<O> result = readObjectListParallel(tokenizer, this);
+        tokenizer.endOfInput();
+        return result;
+    }
+
+    /**
+     * Deserializes the given Json-String into an existing {@link Json}-Object.
+     * 
+     * @param target the {@link Json}-Object, which receives the values.
+     * @param json   a {@link String}, which contains a Json.
+     * @see JsonDeserializer#readInto(Json, JsonTokenizer)
+     */
+    public void readInto(O target, String json) throws JsonDeserializationException {
+        JsonTokenizer tokenizer = new JsonTokenizer(json);
+        readInto(target, tokenizer);
+        tokenizer.endOfInput();
+    }
+
+    /**
+     * Deserializes the next value of the given {@link JsonTokenizer} into an
+     * existing {@link Json}-Object, so it can be reused for many Jsons. The
+     * default implementation deserializes a new {@link Json}-Object with
+     * {@link JsonDeserializer#getObject(JsonTokenizer)} and copies all
+     * {@link JsonField}s into the target, so fields which are missing in the Json
+     * get the values of a new instance. Override this method, if your
+     * deserializer can write the fields directly, like the
+     * {@link JsonReflectiveDeserializer}, but keep this behaviour.
+     * 
+     * @param target    the {@link Json}-Object, which receives the values.
+     * @param tokenizer a {@link JsonTokenizer}, whose next value is a Json.
+     * @throws JsonDeserializationException if the Json is null or the
+     *                                      deserializer returns another class.
+     */
+    public void readInto(O target, JsonTokenizer tokenizer) throws JsonDeserializationException {
+        O values = getObject(tokenizer);
+        if (values == null) {
+            throw new JsonDeserializationException("null can't be read into an existing Json!");
+        } else if (!target.getClass().equals(values.getClass())) {
+            throw new JsonDeserializationException("Deserializer returns not the right class!");
+        }
+        for (JsonFieldAccessor accessor : JsonFields.getAccessors(target.getClass())) {
+            accessor.set(target, accessor.get(values));
+        }
+    }
+
     /**
      * Get a {@link Map} with Field-Value pairs of the given Json-String. To parse
      * the resulting values you cans use the methods
@@ -44,7 +186,11 @@ public abstract class JsonDeserializer<O extends Json> {
      * {@link JsonDeserializer#readLongList(String)}
      * {@link JsonDeserializer#readStringValue(String)}
      * {@link JsonDeserializer#readStringList(String)},
-     * {@link JsonDeserializer#readObjectList(String, JsonDeserializer)}.
+     * {@link JsonDeserializer#readObjectList(String, JsonDeserializer)},
+     * {@link JsonDeserializer#readBooleanArray(String)},
+     * {@link JsonDeserializer#readIntArray(String)},
+     * {@link JsonDeserializer#readLongArray(String)},
+     * {@link JsonDeserializer#readDoubleArray(String)}.
      * 
      * @param json a {@link String} containing a valid Json.
      * @return a {@link Map} with the {@link JsonField}-Values as keys and their
@@ -52,162 +198,398 @@ public abstract class JsonDeserializer<O extends Json> {
      */
     protected static Map<String, String> readFields(String json) {
         Map<String, String> fieldMap = new HashMap<String, String>();
-
-        // name of the field which will be saved in the map
-        String fieldName = null;
-        // shows if the current char of the iteration belongs to a value
-        boolean isValue = false;
-        boolean isString = false;
-        // indicates the start of the fieldName
-        int nameStart = -1;
-        // indicates the start of the value of the field
-        int valueStart = -1;
-        // if greater than zero, the current value does not end with ",",
-        // because of open [, { signs.
-        int blocked = 0;
-
-        for (int i = 0; i < json.length(); i++) {
-            if (json.charAt(i) == '\"' && !isValue) {
-                if (nameStart == -1) {
-                    nameStart = i + 1;
-                } else {
-                    fieldName = json.substring(nameStart, i);
-                    nameStart = -1;
-                }
-                // isString of value
-            } else if (json.charAt(i) == '\"') {
-                isString = !isString;
-                // value start
-            } else if (json.charAt(i) == ':' && !isValue) {
-                valueStart = i + 1;
-                isValue = true;
-
-                // value end
-                // next field or end of json
-            } else if ((json.charAt(i) == ',' || json.charAt(i) == '}') && isValue && blocked == 0
-                    && !isString) {
-                fieldMap.put(fieldName.strip(), json.substring(valueStart, i).strip());
-                valueStart = -1;
-                isValue = false;
-            } else if ((json.charAt(i) == '[' || json.charAt(i) == '{') && isValue && !isString) {
-                blocked++;
-            } else if ((json.charAt(i) == ']' || json.charAt(i) == '}') && isValue && !isString) {
-                blocked--;
-            }
+        JsonTokenizer tokenizer = new JsonTokenizer(json);
+        tokenizer.beginObject();
+        while (tokenizer.nextField()) {
+            String fieldName = tokenizer.getName();
+            // only the top-level values are copied, nested ones are just skipped
+            tokenizer.skipValue();
+            fieldMap.put(fieldName, tokenizer.getValue());
         }
         return fieldMap;
     }
 
     protected static List<Boolean> readBooleanList(String list) {
-        return readList(list, JsonDeserializer::readBooleanValue);
+        return readValue(list, JsonDeserializer::readBooleanList);
     }
 
     protected static List<Integer> readIntegerList(String list) {
-        return readList(list, JsonDeserializer::readIntegerValue);
+        return readValue(list, JsonDeserializer::readIntegerList);
     }
 
     protected static List<Long> readLongList(String list) {
-        return readList(list, JsonDeserializer::readLongValue);
+        return readValue(list, JsonDeserializer::readLongList);
     }
 
     protected static List<Double> readDoubleList(String list) {
-        return readList(list, JsonDeserializer::readDoubleValue);
+        return readValue(list, JsonDeserializer::readDoubleList);
     }
 
     protected static List<String> readStringList(String list) {
-        // remove ""
-        return readList(list, JsonDeserializer::readStringValue);
+        return readValue(list, JsonDeserializer::readStringList);
     }
 
     protected static <T extends Json> List<T> readObjectList(String list,
             JsonDeserializer<T> deserializer) {
-        return readList(list, deserializer::getObject);
+        return readValue(list, tokenizer -> readObjectList(tokenizer, deserializer));
+    }
+
+    protected static boolean[] readBooleanArray(String array) {
+        return readValue(array, JsonDeserializer::readBooleanArray);
+    }
+
+    protected static int[] readIntArray(String array) {
+        return readValue(array, JsonDeserializer::readIntArray);
+    }
+
+    protected static long[] readLongArray(String array) {
+        return readValue(array, JsonDeserializer::readLongArray);
+    }
+
+    protected static double[] readDoubleArray(String array) {
+        return readValue(array, JsonDeserializer::readDoubleArray);
+    }
+
+    protected static List<Boolean> readBooleanList(JsonTokenizer tokenizer) {
+        return readList(tokenizer, JsonTokenizer::readBoolean);
+    }
+
+    protected static List<Integer> readIntegerList(JsonTokenizer tokenizer) {
+        return readList(tokenizer, JsonTokenizer::readInteger);
+    }
+
+    protected static List<Long> readLongList(JsonTokenizer tokenizer) {
+        return readList(tokenizer, JsonTokenizer::readLong);
+    }
+
+    protected static List<Double> readDoubleList(JsonTokenizer tokenizer) {
+        return readList(tokenizer, JsonTokenizer::readDouble);
+    }
+
+    protected static List<String> readStringList(JsonTokenizer tokenizer) {
+        // remove ""
+        return readList(tokenizer, JsonTokenizer::readString);
+    }
+
+    protected static <T extends Json> List<T> readObjectList(JsonTokenizer tokenizer,
+            JsonDeserializer<T> deserializer) {
+        return readList(tokenizer, deserializer::getObject);
+    }
+
+    /**
+     * Reads a {@link List} like {@link JsonDeserializer#readBooleanList(JsonTokenizer)},
+     * but refills the given {@link List}, if it is an {@link ArrayList}. The
+     * same applies for the other read-methods with a reuse-parameter.
+     * 
+     * @param tokenizer a {@link JsonTokenizer}, whose next value is a Json-Array.
+     * @param reuse     the {@link List}, which should be cleared and refilled, or
+     *                  null.
+     * @return the reused or a new {@link List}, null if the Json is null.
+     */
+    protected static List<Boolean> readBooleanList(JsonTokenizer tokenizer, List<Boolean> reuse) {
+        return readList(tokenizer, JsonTokenizer::readBoolean, reuse);
+    }
+
+    protected static List<Integer> readIntegerList(JsonTokenizer tokenizer, List<Integer> reuse) {
+        return readList(tokenizer, JsonTokenizer::readInteger, reuse);
     }
 
-    private static <T> List<T> readList(String list, Deserializer<T> deserializer) {
-        list = list.strip();
-        if (isNull(list)) {
+    protected static List<Long> readLongList(JsonTokenizer tokenizer, List<Long> reuse) {
+        return readList(tokenizer, JsonTokenizer::readLong, reuse);
+    }
+
+    protected static List<Double> readDoubleList(JsonTokenizer tokenizer, List<Double> reuse) {
+        return readList(tokenizer, JsonTokenizer::readDouble, reuse);
+    }
+
+    protected static List<String> readStringList(JsonTokenizer tokenizer, List<String> reuse) {
+        return readList(tokenizer, JsonTokenizer::readString, reuse);
+    }
+
+    /**
+     * Reads a {@link List} of {@link Json}s into the given {@link List}, if it is
+     * an {@link ArrayList}. Existing elements are reused with
+     * {@link JsonDeserializer#readInto(Json, JsonTokenizer)}, the {@link List} is
+     * shortened or extended to the size of the Json-Array.
+     * 
+     * @param <T>          your {@link Json}-Class
+     * @param tokenizer    a {@link JsonTokenizer}, whose next value is a
+     *                     Json-Array.
+     * @param deserializer the {@link JsonDeserializer} of the elements.
+     * @param reuse        the {@link List}, which should be refilled, or null.
+     * @return the reused or a new {@link List}, null if the Json is null.
+     */
+    protected static <T extends Json> List<T> readObjectList(JsonTokenizer tokenizer,
+            JsonDeserializer<T> deserializer, List<T> reuse) {
+        if (!(reuse instanceof ArrayList)) {
+            return readObjectList(tokenizer, deserializer);
+        } else if (tokenizer.readNull()) {
+            return null;
+        }
+        tokenizer.beginArray();
+        int size = reuse.size();
+        int i = 0;
+        for (; tokenizer.nextElement(); i++) {
+            T old = i < size ? reuse.get(i) : null;
+            T element;
+            if (tokenizer.readNull()) {
+                element = null;
+            } else if (old != null) {
+                deserializer.readInto(old, tokenizer);
+                element = old;
+            } else {
+                element = deserializer.getObject(tokenizer);
+            }
+            if (i < size) {
+                reuse.set(i, element);
+            } else {
+                reuse.add(element);
+            }
+        }
+        if (i < size) {
+            reuse.subList(i, size).clear();
+        }
+        return reuse;
+    }
+
+    /**
+     * Reads a {@link List} like
+     * {@link JsonDeserializer#readObjectList(JsonTokenizer, JsonDeserializer)},
+     * but deserializes the elements on several threads. First the offsets of all
+     * elements are found in one pass, which only skips the values. Then chunks of
+     * elements are deserialized by a {@link ForkJoinPool}, the common pool or the
+     * pool of the calling task. The order of the elements is kept. Small arrays
+     * and single-core machines are read on the calling thread. The
+     * {@link JsonDeserializer} has to be thread-safe, like the
+     * {@link JsonReflectiveDeserializer#of(Class)} and the generated codecs.
+     * 
+     * @param <T>          your {@link Json}-Class
+     * @param tokenizer    a {@link JsonTokenizer}, whose next value is a
+     *                     Json-Array.
+     * @param deserializer the {@link JsonDeserializer} of the elements.
+     * @return a new {@link List}, null if the Json is null.
+     */
+    protected static <T extends Json> List<T> readObjectListParallel(JsonTokenizer tokenizer,
+            JsonDeserializer<T> deserializer) {
+        ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool()
+                : ForkJoinPool.commonPool();
+        if (pool.getParallelism() < 2) {
+            // the offsets would only cost an extra pass
+            return readObjectList(tokenizer, deserializer);
+        } else if (tokenizer.readNull()) {
             return null;
         }
-        List<T> result = new LinkedList<>();
-        // remove []
-        list = list.substring(1, list.length() - 1);
-        if (list.isBlank()) {
-            return result;
-        }
-        String element = "";
-        boolean isString = false;
-        int blocked = 0;
-        for (char c : list.toCharArray()) {
-            // End of element
-            if (c == ',' && blocked == 0 && !isString) {
-                result.add(deserializer.deserialize(element));
-                // reset for next element
-                element = "";
-                // don't add , to next element
-                continue;
-            } else if ((c == '[' || c == '{') && !isString) {
-                blocked++;
-            } else if ((c == ']' || c == '}') && !isString) {
-                blocked--;
-            } else if (c == '\"') {
-                isString = !isString;
+        // start and end of every element
+        int[] offsets = new int[2 * MIN_CHUNK_SIZE];
+        int size = 0;
+        tokenizer.beginArray();
+        while (tokenizer.nextElement()) {
+            tokenizer.skipValue();
+            if (2 * size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
             }
-            element += c;
+            offsets[2 * size] = tokenizer.getValueStart();
+            offsets[2 * size + 1] = tokenizer.getValueEnd();
+            size++;
+        }
+        // every task sets only its own elements, join makes them visible
+        List<T> result = new ArrayList<>(Collections.nCopies(size, null));
+        // about 4 tasks per thread, so busy threads can be helped by others
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (4 * pool.getParallelism()));
+        ElementsTask<T> task = new ElementsTask<>(tokenizer, deserializer, offsets, result,
+                chunkSize, 0, size);
+        if (size <= chunkSize) {
+            task.deserialize();
+        } else if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
         }
-        // add last element
-        result.add(deserializer.deserialize(element));
         return result;
     }
 
-    protected static String readStringValue(String stringValue) {
-        stringValue = stringValue.strip();
-        if (isNull(stringValue)) {
+    protected static boolean[] readBooleanArray(JsonTokenizer tokenizer) {
+        return readBooleanArray(tokenizer, null);
+    }
+
+    protected static int[] readIntArray(JsonTokenizer tokenizer) {
+        return readIntArray(tokenizer, null);
+    }
+
+    protected static long[] readLongArray(JsonTokenizer tokenizer) {
+        return readLongArray(tokenizer, null);
+    }
+
+    protected static double[] readDoubleArray(JsonTokenizer tokenizer) {
+        return readDoubleArray(tokenizer, null);
+    }
+
+    /**
+     * Reads an array like {@link JsonDeserializer#readBooleanArray(JsonTokenizer)},
+     * but fills the given array, if it has the length of the Json-Array. The
+     * same applies for the other array-methods with a reuse-parameter.
+     * 
+     * @param tokenizer a {@link JsonTokenizer}, whose next value is a Json-Array.
+     * @param reuse     the array, which should be filled, or null.
+     * @return the reused or a new array, null if the Json is null.
+     */
+    protected static boolean[] readBooleanArray(JsonTokenizer tokenizer, boolean[] reuse) {
+        if (tokenizer.readNull()) {
             return null;
         }
-        // remove ""
-        return stringValue.substring(1, stringValue.length() - 1);
+        int length = tokenizer.countElements();
+        boolean[] result = reuse != null && reuse.length == length ? reuse : new boolean[length];
+        tokenizer.beginArray();
+        for (int i = 0; tokenizer.nextElement(); i++) {
+            result[i] = tokenizer.parseBoolean();
+        }
+        return result;
     }
 
-    protected static Boolean readBooleanValue(String boolValue) {
-        boolValue = boolValue.strip();
-        if (isNull(boolValue)) {
+    protected static int[] readIntArray(JsonTokenizer tokenizer, int[] reuse) {
+        if (tokenizer.readNull()) {
             return null;
         }
-        return Boolean.parseBoolean(boolValue);
+        int length = tokenizer.countElements();
+        int[] result = reuse != null && reuse.length == length ? reuse : new int[length];
+        tokenizer.beginArray();
+        for (int i = 0; tokenizer.nextElement(); i++) {
+            result[i] = tokenizer.parseInt();
+        }
+        return result;
     }
 
-    protected static Integer readIntegerValue(String intValue) {
-        intValue = intValue.strip();
-        if (isNull(intValue)) {
+    protected static long[] readLongArray(JsonTokenizer tokenizer, long[] reuse) {
+        if (tokenizer.readNull()) {
             return null;
         }
-        return Integer.parseInt(intValue);
+        int length = tokenizer.countElements();
+        long[] result = reuse != null && reuse.length == length ? reuse : new long[length];
+        tokenizer.beginArray();
+        for (int i = 0; tokenizer.nextElement(); i++) {
+            result[i] = tokenizer.parseLong();
+        }
+        return result;
     }
 
-    protected static Double readDoubleValue(String doubleValue) {
-        doubleValue = doubleValue.strip();
-        if (isNull(doubleValue)) {
+    protected static double[] readDoubleArray(JsonTokenizer tokenizer, double[] reuse) {
+        if (tokenizer.readNull()) {
             return null;
         }
-        return Double.parseDouble(doubleValue);
+        int length = tokenizer.countElements();
+        double[] result = reuse != null && reuse.length == length ? reuse : new double[length];
+        tokenizer.beginArray();
+        for (int i = 0; tokenizer.nextElement(); i++) {
+            result[i] = tokenizer.parseDouble();
+        }
+        return result;
     }
 
-    protected static Long readLongValue(String longValue) {
-        longValue = longValue.strip();
-        if (isNull(longValue)) {
+    private static <T> List<T> readList(JsonTokenizer tokenizer, Deserializer<T> deserializer) {
+        return readList(tokenizer, deserializer, null);
+    }
+
+    private static <T> List<T> readList(JsonTokenizer tokenizer, Deserializer<T> deserializer,
+            List<T> reuse) {
+        if (tokenizer.readNull()) {
             return null;
         }
-        return Long.parseLong(longValue);
+        List<T> result;
+        if (reuse instanceof ArrayList) {
+            reuse.clear();
+            result = reuse;
+        } else {
+            // the elements are parsed in place, so the pre-count is the only extra pass
+            result = new ArrayList<>(tokenizer.countElements());
+        }
+        tokenizer.beginArray();
+        while (tokenizer.nextElement()) {
+            result.add(deserializer.deserialize(tokenizer));
+        }
+        return result;
     }
 
-    private static boolean isNull(String value) {
-        return value.equals(JsonConstants.JSON_NULL);
+    protected static String readStringValue(String stringValue) {
+        return readValue(stringValue, JsonTokenizer::readString);
+    }
+
+    protected static Boolean readBooleanValue(String boolValue) {
+        return readValue(boolValue, JsonTokenizer::readBoolean);
+    }
+
+    protected static Integer readIntegerValue(String intValue) {
+        return readValue(intValue, JsonTokenizer::readInteger);
+    }
+
+    protected static Double readDoubleValue(String doubleValue) {
+        return readValue(doubleValue, JsonTokenizer::readDouble);
+    }
+
+    protected static Long readLongValue(String longValue) {
+        return readValue(longValue, JsonTokenizer::readLong);
+    }
+
+    private static <T> T readValue(String value, Deserializer<T> deserializer) {
+        JsonTokenizer tokenizer = new JsonTokenizer(value);
+        T result = deserializer.deserialize(tokenizer);
+        tokenizer.endOfInput();
+        return result;
     }
 
     private interface Deserializer<T> {
 
-        T deserialize(String str);
+        T deserialize(JsonTokenizer tokenizer);
+
+    }
+
+    /**
+     * Deserializes the elements between start and end, large ranges are split
+     * into two tasks.
+     */
+    private static class ElementsTask<T extends Json> extends RecursiveAction {
+
+        private static final long serialVersionUID = 4040815425137305813L;
+
+        private final transient JsonTokenizer source;
+        private final transient JsonDeserializer<T> deserializer;
+        private final int[] offsets;
+        private final transient List<T> elements;
+        private final int chunkSize;
+        private final int start;
+        private final int end;
+
+        ElementsTask(JsonTokenizer source, JsonDeserializer<T> deserializer, int[] offsets,
+                List<T> elements, int chunkSize, int start, int end) {
+            super();
+            this.source = source;
+            this.deserializer = deserializer;
+            this.offsets = offsets;
+            this.elements = elements;
+            this.chunkSize = chunkSize;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= chunkSize) {
+                deserialize();
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(
+                    new ElementsTask<>(source, deserializer, offsets, elements, chunkSize, start,
+                            middle),
+                    new ElementsTask<>(source, deserializer, offsets, elements, chunkSize, middle,
+                            end));
+        }
+
+        void deserialize() {
+            for (int i = start; i < end; i++) {
+                JsonTokenizer element = source.range(offsets[2 * i], offsets[2 * i + 1]);
+                elements.set(i, deserializer.getObject(element));
+            }
+        }
 
     }
 }
@@ -0,0 +1,270 @@
+package de.leunosam.json.deserialize;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.leunosam.json.Json;
+
+/**
+ * A lazy view of a Json-Object. On creation only the offsets of the top-level
+ * fields are determined, the values are decoded first when they are requested.
+ * Nested objects can be requested as JsonDocument, too, which indexes them on
+ * first access. The source is never copied, so it can be forwarded unchanged,
+ * e.g. by {@link JsonDocument#getBytes()}. Use it, if only a few fields of a
+ * large Json are needed, e.g.:<br>
+ * JsonDocument document = new JsonDocument(bytes, 0, bytes.length);<br>
+ * if ("order".equals(document.getString("type"))) {<br>
+ * &emsp;Long id = document.getLong("id");<br>
+ * }<br>
+ * If a field occurs several times, the last one is used. Missing fields are
+ * returned as null. A JsonDocument is not thread-safe.
+ *
+ * @author LeunoSam
+ */
+public class JsonDocument {
+
+    // nameStart, nameEnd, valueStart and valueEnd of every field
+    private static final int FIELD_SIZE = 4;
+
+    private final JsonTokenizer source;
+    private final int start;
+    private final int end;
+    private int[] offsets = new int[8 * FIELD_SIZE];
+    private int size = 0;
+    // nested documents, created on first access
+    private JsonDocument[] documents;
+
+    /**
+     * Creates a new JsonDocument and indexes the fields of the given Json.
+     *
+     * @param json a {@link CharSequence}, which contains a Json-Object.
+     * @throws JsonDeserializationException if the Json is no valid object.
+     */
+    public JsonDocument(CharSequence json) {
+        this(new JsonTokenizer(json));
+    }
+
+    /**
+     * Creates a new JsonDocument and indexes the fields of the given UTF-8
+     * bytes. The bytes are not copied, so they must not be changed.
+     *
+     * @param json   the UTF-8 bytes of a Json-Object.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @throws JsonDeserializationException if the Json is no valid object.
+     */
+    public JsonDocument(byte[] json, int offset, int length) {
+        this(new JsonTokenizer(json, offset, length));
+    }
+
+    /**
+     * Creates a new JsonDocument and indexes the fields of the UTF-8 bytes
+     * between position and limit of the given {@link ByteBuffer}. The bytes are
+     * not copied, so they must not be changed.
+     *
+     * @param json a {@link ByteBuffer}, which contains a Json-Object.
+     * @throws JsonDeserializationException if the Json is no valid object.
+     */
+    public JsonDocument(ByteBuffer json) {
+        this(new JsonTokenizer(json));
+    }
+
+    private JsonDocument(JsonTokenizer tokenizer) {
+        super();
+        this.source = tokenizer;
+        tokenizer.beginObject();
+        this.start = tokenizer.getPosition() - 1;
+        while (tokenizer.nextField()) {
+            int nameStart = tokenizer.getNameStart();
+            int nameEnd = tokenizer.getNameEnd();
+            // the values are only skipped, nothing is decoded
+            tokenizer.skipValue();
+            addField(nameStart, nameEnd, tokenizer.getValueStart(), tokenizer.getValueEnd());
+        }
+        this.end = tokenizer.getPosition();
+        tokenizer.endOfInput();
+    }
+
+    private void addField(int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        int index = size * FIELD_SIZE;
+        if (index == offsets.length) {
+            int[] grown = new int[offsets.length * 2];
+            System.arraycopy(offsets, 0, grown, 0, offsets.length);
+            offsets = grown;
+        }
+        offsets[index] = nameStart;
+        offsets[index + 1] = nameEnd;
+        offsets[index + 2] = valueStart;
+        offsets[index + 3] = valueEnd;
+        size++;
+    }
+
+    /**
+     * @return the number of indexed fields.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the names of all fields in the order of the Json, they are decoded
+     *         by this call.
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(source.text(offsets[i * FIELD_SIZE], offsets[i * FIELD_SIZE + 1]));
+        }
+        return names;
+    }
+
+    public boolean contains(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    /**
+     * @param name the name of a field.
+     * @return the unparsed value of the field, e.g. a nested Json-Object, or
+     *         null if the field doesn't exist.
+     */
+    public String getValue(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            return null;
+        }
+        return source.text(offsets[index * FIELD_SIZE + 2], offsets[index * FIELD_SIZE + 3]);
+    }
+
+    public Boolean getBoolean(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : tokenizer.readBoolean();
+    }
+
+    public Integer getInteger(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : tokenizer.readInteger();
+    }
+
+    public Long getLong(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : tokenizer.readLong();
+    }
+
+    public Double getDouble(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : tokenizer.readDouble();
+    }
+
+    public String getString(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : tokenizer.readString();
+    }
+
+    /**
+     * Deserializes the value of a field with the given {@link JsonDeserializer}.
+     *
+     * @param <T>          your {@link Json}-Class
+     * @param name         the name of a field.
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @return the deserialized {@link Json}, null if the field doesn't exist or
+     *         is null.
+     */
+    public <T extends Json> T getObject(String name, JsonDeserializer<T> deserializer) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : deserializer.getObject(tokenizer);
+    }
+
+    /**
+     * Returns a nested Json-Object as JsonDocument. It is indexed on the first
+     * call, the following calls return the same JsonDocument.
+     *
+     * @param name the name of a field.
+     * @return a JsonDocument, null if the field doesn't exist or is null.
+     */
+    public JsonDocument getDocument(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            return null;
+        }
+        if (documents == null) {
+            documents = new JsonDocument[size];
+        }
+        if (documents[index] == null) {
+            JsonTokenizer tokenizer = getTokenizer(index);
+            if (tokenizer.readNull()) {
+                return null;
+            }
+            documents[index] = new JsonDocument(tokenizer);
+        }
+        return documents[index];
+    }
+
+    public List<Boolean> getBooleanList(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : JsonDeserializer.readBooleanList(tokenizer);
+    }
+
+    public List<Integer> getIntegerList(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : JsonDeserializer.readIntegerList(tokenizer);
+    }
+
+    public List<Long> getLongList(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : JsonDeserializer.readLongList(tokenizer);
+    }
+
+    public List<Double> getDoubleList(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : JsonDeserializer.readDoubleList(tokenizer);
+    }
+
+    public List<String> getStringList(String name) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : JsonDeserializer.readStringList(tokenizer);
+    }
+
+    public <T extends Json> List<T> getObjectList(String name, JsonDeserializer<T> deserializer) {
+        JsonTokenizer tokenizer = getTokenizer(name);
+        return tokenizer == null ? null : JsonDeserializer.readObjectList(tokenizer, deserializer);
+    }
+
+    /**
+     * @return the UTF-8 bytes of this Json-Object as read-only {@link ByteBuffer},
+     *         which shares the bytes of the source, or null if the source was a
+     *         {@link CharSequence}.
+     */
+    public ByteBuffer getBytes() {
+        Utf8CharSequence utf8 = source.getUtf8();
+        return utf8 == null ? null : utf8.slice(start, end);
+    }
+
+    /**
+     * @return the unchanged Json-Object, UTF-8 bytes are decoded.
+     */
+    @Override
+    public String toString() {
+        return source.text(start, end);
+    }
+
+    private JsonTokenizer getTokenizer(String name) {
+        int index = indexOf(name);
+        return index < 0 ? null : getTokenizer(index);
+    }
+
+    private JsonTokenizer getTokenizer(int index) {
+        return source.range(offsets[index * FIELD_SIZE + 2], offsets[index * FIELD_SIZE + 3]);
+    }
+
+    private int indexOf(String name) {
+        // backwards, so the last field with the name is found, like in readFields
+        for (int i = size - 1; i >= 0; i--) {
+            if (source.textEquals(offsets[i * FIELD_SIZE], offsets[i * FIELD_SIZE + 1], name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
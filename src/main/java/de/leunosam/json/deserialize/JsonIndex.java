@@ -0,0 +1,354 @@
+package de.leunosam.json.deserialize;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import de.leunosam.json.Json;
+
+/**
+ * A structural index of a whole Json, which allows random access by
+ * JSON-Pointers (RFC 6901), e.g. "/customer/addresses/0/city". The index is
+ * built in one pass and contains an entry for every brace, bracket, colon,
+ * comma and quote. Every entry is a long with the offset of the char in the
+ * upper 32 bits. Entries of opening braces and brackets contain the index of
+ * their closing entry in the lower 32 bits, so nested values are skipped in one
+ * step. A lookup only walks through the entries of the objects and arrays on
+ * its path, nothing is copied or decoded except the requested value. Use it
+ * for large Jsons, which are read many times.
+ *
+ * @author LeunoSam
+ */
+public class JsonIndex {
+
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private final JsonTokenizer source;
+    private final int start;
+    private final int end;
+    private long[] tape;
+    private int size = 0;
+
+    /**
+     * Creates a new JsonIndex for the given Json.
+     *
+     * @param json a {@link CharSequence}, which contains a Json.
+     * @throws JsonDeserializationException if braces, brackets or quotes are
+     *                                      unbalanced.
+     */
+    public JsonIndex(CharSequence json) {
+        this(new JsonTokenizer(json));
+    }
+
+    /**
+     * Creates a new JsonIndex for the given UTF-8 bytes, they are not copied.
+     *
+     * @param json   the UTF-8 bytes of a Json.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @throws JsonDeserializationException if braces, brackets or quotes are
+     *                                      unbalanced.
+     */
+    public JsonIndex(byte[] json, int offset, int length) {
+        this(new JsonTokenizer(json, offset, length));
+    }
+
+    /**
+     * Creates a new JsonIndex for the UTF-8 bytes between position and limit of
+     * the given {@link ByteBuffer}, they are not copied.
+     *
+     * @param json a {@link ByteBuffer}, which contains a Json.
+     * @throws JsonDeserializationException if braces, brackets or quotes are
+     *                                      unbalanced.
+     */
+    public JsonIndex(ByteBuffer json) {
+        this(new JsonTokenizer(json));
+    }
+
+    private JsonIndex(JsonTokenizer source) {
+        super();
+        this.source = source;
+        this.start = source.getPosition();
+        this.end = source.getSource().length();
+        this.tape = new long[Math.max(16, (end - start) / 8)];
+        build(source.getSource());
+    }
+
+    private void build(CharSequence json) {
+        int[] open = new int[16];
+        int depth = 0;
+        boolean isString = false;
+        for (int i = start; i < end; i++) {
+            if (isString) {
+                // the content of a String is skipped at once
+                i = source.indexOfQuote(i);
+                if (i < 0) {
+                    break;
+                }
+            }
+            char c = json.charAt(i);
+            if (c == '\"') {
+                isString = !isString;
+                add(i);
+            } else if (isString) {
+                continue;
+            } else if (c == '{' || c == '[') {
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, depth * 2);
+                }
+                open[depth++] = size;
+                add(i);
+            } else if (c == '}' || c == ']') {
+                char expected = c == '}' ? '{' : '[';
+                if (depth == 0 || json.charAt(offset(open[depth - 1])) != expected) {
+                    throw new JsonDeserializationException(
+                            "Unexpected '" + c + "' at index " + i);
+                }
+                int opening = open[--depth];
+                tape[opening] |= size;
+                add(i);
+            } else if (c == ',' || c == ':') {
+                add(i);
+            }
+        }
+        if (isString) {
+            throw new JsonDeserializationException("Unterminated string");
+        } else if (depth > 0) {
+            throw new JsonDeserializationException(
+                    "Missing end of object or array, opened at index " + offset(open[depth - 1]));
+        }
+    }
+
+    private void add(int offset) {
+        if (size == tape.length) {
+            tape = Arrays.copyOf(tape, size * 2);
+        }
+        tape[size++] = (long) offset << 32;
+    }
+
+    private int offset(int entry) {
+        return (int) (tape[entry] >>> 32);
+    }
+
+    private int match(int entry) {
+        return (int) (tape[entry] & OFFSET_MASK);
+    }
+
+    /**
+     * @return the number of entries in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param pointer a JSON-Pointer, e.g. "/items/2/name", "" for the whole Json.
+     * @return true if the pointer references an existing value.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public boolean contains(String pointer) {
+        return find(pointer) != null;
+    }
+
+    /**
+     * @param pointer a JSON-Pointer, e.g. "/items/2/name", "" for the whole Json.
+     * @return the unparsed value, e.g. a nested Json-Object, or null if the
+     *         pointer references no value.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public String getValue(String pointer) {
+        JsonTokenizer tokenizer = find(pointer);
+        if (tokenizer == null) {
+            return null;
+        }
+        tokenizer.skipValue();
+        return tokenizer.getValue();
+    }
+
+    public Boolean getBoolean(String pointer) {
+        JsonTokenizer tokenizer = find(pointer);
+        return tokenizer == null ? null : tokenizer.readBoolean();
+    }
+
+    public Integer getInteger(String pointer) {
+        JsonTokenizer tokenizer = find(pointer);
+        return tokenizer == null ? null : tokenizer.readInteger();
+    }
+
+    public Long getLong(String pointer) {
+        JsonTokenizer tokenizer = find(pointer);
+        return tokenizer == null ? null : tokenizer.readLong();
+    }
+
+    public Double getDouble(String pointer) {
+        JsonTokenizer tokenizer = find(pointer);
+        return tokenizer == null ? null : tokenizer.readDouble();
+    }
+
+    public String getString(String pointer) {
+        JsonTokenizer tokenizer = find(pointer);
+        return tokenizer == null ? null : tokenizer.readString();
+    }
+
+    /**
+     * Deserializes the referenced value with the given {@link JsonDeserializer}.
+     *
+     * @param <T>          your {@link Json}-Class
+     * @param pointer      a JSON-Pointer, e.g. "/items/2".
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @return the deserialized {@link Json}, null if the pointer references no
+     *         value or null.
+     */
+    public <T extends Json> T getObject(String pointer, JsonDeserializer<T> deserializer) {
+        JsonTokenizer tokenizer = find(pointer);
+        return tokenizer == null ? null : deserializer.getObject(tokenizer);
+    }
+
+    /**
+     * @return a {@link JsonTokenizer}, which reads the referenced value, or null.
+     */
+    private JsonTokenizer find(String pointer) {
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("A JSON-Pointer has to start with '/'");
+        }
+        // the entry of the current object or array, -1 for other values
+        int entry = size > 0 && isWhitespace(start, offset(0)) ? container(0) : -1;
+        int valueStart = start;
+        int valueEnd = end;
+        int tokenStart = 1;
+        while (tokenStart <= pointer.length()) {
+            int tokenEnd = pointer.indexOf('/', tokenStart);
+            if (tokenEnd < 0) {
+                tokenEnd = pointer.length();
+            }
+            String token = unescape(pointer.substring(tokenStart, tokenEnd));
+            if (entry < 0) {
+                return null;
+            }
+            char c = source.getSource().charAt(offset(entry));
+            int element;
+            if (c == '{') {
+                element = findField(entry, token);
+            } else if (c == '[') {
+                element = findElement(entry, token);
+            } else {
+                return null;
+            }
+            if (element < 0) {
+                return null;
+            }
+            // the value starts after the colon or comma and ends before the next one
+            valueStart = offset(element) + 1;
+            valueEnd = offset(skip(element + 1));
+            entry = container(element + 1);
+            tokenStart = tokenEnd + 1;
+        }
+        return source.range(valueStart, valueEnd);
+    }
+
+    /**
+     * @return the entry of the colon of the field, or -1.
+     */
+    private int findField(int object, String name) {
+        int close = match(object);
+        int entry = object + 1;
+        while (entry < close) {
+            // entry is the quote before the name, entry + 2 the colon
+            if (entry + 2 >= close || source.getSource().charAt(offset(entry + 2)) != ':') {
+                throw new JsonDeserializationException(
+                        "Expected a field at index " + offset(entry));
+            }
+            if (source.textEquals(offset(entry) + 1, offset(entry + 1), name)) {
+                return entry + 2;
+            }
+            // the entry after the value is a comma or the end
+            entry = skip(entry + 3) + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the entry of the bracket or comma before the element, or -1.
+     */
+    private int findElement(int array, String token) {
+        int index = parseIndex(token);
+        if (index < 0) {
+            return -1;
+        }
+        int close = match(array);
+        int entry = array;
+        for (int i = 0; i < index && entry < close; i++) {
+            entry = skip(entry + 1);
+        }
+        if (entry >= close || isEmptyArray(array, close)) {
+            return -1;
+        }
+        return entry;
+    }
+
+    /**
+     * @return the array-index of the token, or -1 if it isn't 0 or [1-9][0-9]*
+     *         (RFC 6901), e.g. -1, +1, 01 or -.
+     */
+    private static int parseIndex(String token) {
+        if (token.isEmpty() || token.length() > 1 && token.charAt(0) == '0') {
+            return -1;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            // larger than any array
+            return -1;
+        }
+    }
+
+    private boolean isEmptyArray(int array, int close) {
+        return close == array + 1 && isWhitespace(offset(array) + 1, offset(close));
+    }
+
+    private boolean isWhitespace(int rangeStart, int rangeEnd) {
+        CharSequence json = source.getSource();
+        for (int i = rangeStart; i < rangeEnd; i++) {
+            if (!Character.isWhitespace(json.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips a value, which starts after the given entry.
+     *
+     * @param entry the first entry of a value or the comma or end after it.
+     * @return the entry of the comma or end after the value.
+     */
+    private int skip(int entry) {
+        char c = source.getSource().charAt(offset(entry));
+        if (c == '{' || c == '[') {
+            return match(entry) + 1;
+        } else if (c == '\"') {
+            return entry + 2;
+        }
+        return entry;
+    }
+
+    /**
+     * @return the entry, if it is the start of an object or array, otherwise -1.
+     */
+    private int container(int entry) {
+        char c = source.getSource().charAt(offset(entry));
+        return c == '{' || c == '[' ? entry : -1;
+    }
+
+    private static String unescape(String token) {
+        if (token.indexOf('~') < 0) {
+            return token;
+        }
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+
+}
@@ -0,0 +1,242 @@
+package de.leunosam.json.deserialize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import de.leunosam.json.Json;
+
+/**
+ * Reads newline-delimited Jsons (NDJSON, JSON Lines), one {@link Json} per
+ * line, e.g.:<br>
+ * try (JsonLinesReader&lt;Order&gt; reader = JsonLinesReader.open(path,
+ * deserializer)) {<br>
+ * &emsp;for (Order order; (order = reader.read()) != null;) {<br>
+ * &emsp;&emsp;...<br>
+ * &emsp;}<br>
+ * }<br>
+ * The bytes are read in chunks into one buffer and every line is deserialized
+ * directly from it, without copying it into a {@link String}. The buffer only
+ * grows, if a single line doesn't fit into it, so the memory stays the same for
+ * files of any size. Blank lines and lines with null are skipped, lines may end
+ * with "\n" or "\r\n". A JsonLinesReader is not thread-safe.
+ *
+ * @param <O> your {@link Json}-Class
+ * @author LeunoSam
+ */
+public class JsonLinesReader<O extends Json> implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final JsonDeserializer<O> deserializer;
+    private byte[] buffer;
+    // the bytes between start and limit are not read yet
+    private int start = 0;
+    private int limit = 0;
+    // the bytes between start and searched contain no newline
+    private int searched = 0;
+    private boolean endOfStream = false;
+    // offsets of the current line in the buffer, without the newline
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber = 0;
+
+    /**
+     * Creates a new JsonLinesReader with a buffer of 64 KiB.
+     *
+     * @param in           an {@link InputStream} with UTF-8 bytes.
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     */
+    public JsonLinesReader(InputStream in, JsonDeserializer<O> deserializer) {
+        this(in, deserializer, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new JsonLinesReader.
+     *
+     * @param in           an {@link InputStream} with UTF-8 bytes.
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @param bufferSize   the initial size of the buffer in bytes.
+     */
+    public JsonLinesReader(InputStream in, JsonDeserializer<O> deserializer, int bufferSize) {
+        super();
+        this.in = in;
+        this.deserializer = deserializer;
+        this.buffer = new byte[Math.max(bufferSize, 16)];
+    }
+
+    /**
+     * Opens the given file for reading.
+     *
+     * @param <O>          your {@link Json}-Class
+     * @param path         the path of a file with newline-delimited Jsons.
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @return a new JsonLinesReader, which has to be closed.
+     * @throws IOException if the file can't be opened.
+     */
+    public static <O extends Json> JsonLinesReader<O> open(Path path,
+            JsonDeserializer<O> deserializer) throws IOException {
+        return new JsonLinesReader<>(Files.newInputStream(path), deserializer);
+    }
+
+    /**
+     * Deserializes the next line.
+     *
+     * @return the next {@link Json}, null if the end of the stream is reached.
+     * @throws IOException                  if the {@link InputStream} fails.
+     * @throws JsonDeserializationException if a line is no valid Json, the
+     *                                      message contains the line-number.
+     */
+    public O read() throws IOException {
+        while (nextLine()) {
+            if (isBlankLine()) {
+                continue;
+            }
+            try {
+                O result = deserializer.getObject(buffer, lineStart, lineEnd - lineStart);
+                if (result != null) {
+                    return result;
+                }
+            } catch (JsonDeserializationException e) {
+                throw atLine(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deserializes the next line into an existing {@link Json}-Object, see
+     * {@link JsonDeserializer#readInto(Json, JsonTokenizer)}. Together with a
+     * reusing {@link JsonReflectiveDeserializer} a whole file can be read
+     * without creating new {@link Json}s.
+     *
+     * @param target the {@link Json}-Object, which receives the values.
+     * @return false if the end of the stream is reached.
+     * @throws IOException                  if the {@link InputStream} fails.
+     * @throws JsonDeserializationException if a line is no valid Json, the
+     *                                      message contains the line-number.
+     */
+    public boolean readInto(O target) throws IOException {
+        while (nextLine()) {
+            if (isBlankLine()) {
+                continue;
+            }
+            JsonTokenizer tokenizer = new JsonTokenizer(buffer, lineStart, lineEnd - lineStart);
+            try {
+                boolean isNull = tokenizer.readNull();
+                if (!isNull) {
+                    deserializer.readInto(target, tokenizer);
+                }
+                tokenizer.endOfInput();
+                if (!isNull) {
+                    return true;
+                }
+            } catch (JsonDeserializationException e) {
+                throw atLine(e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of the remaining lines. Closing the
+     * {@link Stream} closes this reader, an {@link IOException} is thrown as
+     * {@link UncheckedIOException}.
+     *
+     * @return a {@link Stream} of {@link Json}s.
+     */
+    public Stream<O> stream() {
+        return JsonStreams.stream(this::read, this);
+    }
+
+    /**
+     * @return the number of the last read line, starting with 1.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean nextLine() throws IOException {
+        while (true) {
+            int newline = indexOfNewline();
+            if (newline >= 0) {
+                setLine(newline);
+                start = newline + 1;
+                searched = start;
+                return true;
+            }
+            searched = limit;
+            if (endOfStream) {
+                if (start == limit) {
+                    return false;
+                }
+                // the last line has no newline
+                setLine(limit);
+                start = limit;
+                return true;
+            }
+            fill();
+        }
+    }
+
+    private int indexOfNewline() {
+        for (int i = searched; i < limit; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void setLine(int end) {
+        lineStart = start;
+        lineEnd = end > start && buffer[end - 1] == '\r' ? end - 1 : end;
+        lineNumber++;
+    }
+
+    private boolean isBlankLine() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (!Character.isWhitespace(buffer[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void fill() throws IOException {
+        if (limit == buffer.length) {
+            if (start > 0) {
+                // the unread bytes are moved to the front
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                limit -= start;
+                searched -= start;
+                start = 0;
+            } else {
+                // the current line is longer than the buffer
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfStream = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private JsonDeserializationException atLine(JsonDeserializationException e) {
+        return new JsonDeserializationException("Line " + lineNumber + ": " + e.getMessage(), e);
+    }
+
+}
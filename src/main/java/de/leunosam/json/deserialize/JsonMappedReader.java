@@ -0,0 +1,213 @@
+package de.leunosam.json.deserialize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import de.leunosam.json.Json;
+
+/**
+ * Reads the elements of a top-level Json-Array from a memory-mapped file, e.g.
+ * a large export. The file is never copied onto the heap: a window of the file
+ * is mapped by {@link FileChannel#map(MapMode, long, long)} and the elements
+ * are deserialized directly from its UTF-8 bytes. When the next element exceeds
+ * the window, the next window is mapped from the start of this element, so
+ * files larger than 2 GB can be read, only a single element has to fit into
+ * one window. Null elements are skipped. A JsonMappedReader is not
+ * thread-safe.<br>
+ * A single Json, which is smaller than 2 GB, can be read by
+ * {@link JsonMappedReader#readObject(Path, JsonDeserializer)}.
+ *
+ * @param <O> your {@link Json}-Class
+ * @author LeunoSam
+ */
+public class JsonMappedReader<O extends Json> implements Closeable {
+
+    private static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+    // the maximum size of a ByteBuffer
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final JsonDeserializer<O> deserializer;
+    private final long size;
+    private int windowSize;
+    // the offset of the mapped window in the file
+    private long windowStart;
+    private int windowLength;
+    private JsonTokenizer window;
+    private boolean finished = false;
+    // the first element is read after the '[' of the first window
+    private boolean hasElements = false;
+
+    private JsonMappedReader(FileChannel channel, JsonDeserializer<O> deserializer,
+            int windowSize) throws IOException {
+        super();
+        this.channel = channel;
+        this.deserializer = deserializer;
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    /**
+     * Opens the given file with windows of 256 MiB.
+     *
+     * @param <O>          your {@link Json}-Class
+     * @param path         the path of a file, which contains a Json-Array.
+     * @param deserializer the {@link JsonDeserializer} of the elements.
+     * @return a new JsonMappedReader, which has to be closed.
+     * @throws IOException                  if the file can't be mapped.
+     * @throws JsonDeserializationException if the file contains no array.
+     */
+    public static <O extends Json> JsonMappedReader<O> open(Path path,
+            JsonDeserializer<O> deserializer) throws IOException {
+        return open(path, deserializer, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens the given file.
+     *
+     * @param <O>          your {@link Json}-Class
+     * @param path         the path of a file, which contains a Json-Array.
+     * @param deserializer the {@link JsonDeserializer} of the elements.
+     * @param windowSize   the number of bytes, which are mapped at once. It grows,
+     *                     if an element doesn't fit into it.
+     * @return a new JsonMappedReader, which has to be closed.
+     * @throws IOException                  if the file can't be mapped.
+     * @throws JsonDeserializationException if the file contains no array.
+     */
+    public static <O extends Json> JsonMappedReader<O> open(Path path,
+            JsonDeserializer<O> deserializer, int windowSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new JsonMappedReader<>(channel, deserializer, Math.max(windowSize, 16));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the whole file and deserializes it, without copying it onto the heap.
+     *
+     * @param <O>          your {@link Json}-Class
+     * @param path         the path of a file, which contains one Json.
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @return the deserialized {@link Json}.
+     * @throws IOException                  if the file can't be mapped, e.g. if
+     *                                      it is larger than 2 GB.
+     * @throws JsonDeserializationException if the file contains no valid Json.
+     */
+    public static <O extends Json> O readObject(Path path, JsonDeserializer<O> deserializer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > MAX_WINDOW_SIZE) {
+                throw new IOException(path + " is larger than 2 GB");
+            }
+            return deserializer.getObject(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Deserializes the next element of the array.
+     *
+     * @return the next {@link Json}, null if the end of the array is reached.
+     * @throws IOException                  if a window can't be mapped.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public O read() throws IOException {
+        while (!finished) {
+            long elementStart = hasElements ? windowStart + window.getPosition() : 0;
+            int valueStart;
+            int valueEnd;
+            try {
+                if (!window.nextElement()) {
+                    finished = true;
+                    endOfInput();
+                    return null;
+                }
+                window.skipValue();
+                valueStart = window.getValueStart();
+                valueEnd = window.getValueEnd();
+                if (valueEnd == windowLength && !isLastWindow()) {
+                    // a number could continue in the next window
+                    throw new JsonDeserializationException("Unexpected end of window");
+                }
+            } catch (JsonDeserializationException e) {
+                if (isLastWindow()) {
+                    throw e;
+                }
+                remap(elementStart);
+                continue;
+            }
+            hasElements = true;
+            O result = deserializer.getObject(window.range(valueStart, valueEnd));
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of the remaining elements. Closing the
+     * {@link Stream} closes this reader, an {@link IOException} is thrown as
+     * {@link UncheckedIOException}.
+     *
+     * @return a {@link Stream} of {@link Json}s.
+     */
+    public Stream<O> stream() {
+        return JsonStreams.stream(this::read, this);
+    }
+
+    /**
+     * Closes the file. The mapped windows are released by the garbage
+     * collector.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean isLastWindow() {
+        return windowStart + windowLength == size;
+    }
+
+    private void remap(long start) throws IOException {
+        if (start == windowStart) {
+            // the element is larger than the window
+            if (windowSize == MAX_WINDOW_SIZE) {
+                throw new JsonDeserializationException(
+                        "The element at offset " + start + " is larger than 2 GB");
+            }
+            windowSize = (int) Math.min((long) windowSize * 2, MAX_WINDOW_SIZE);
+        }
+        map(start);
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        windowLength = (int) Math.min(windowSize, size - start);
+        MappedByteBuffer bytes = channel.map(MapMode.READ_ONLY, start, windowLength);
+        window = new JsonTokenizer(bytes);
+        if (start == 0) {
+            window.beginArray();
+        }
+    }
+
+    private void endOfInput() throws IOException {
+        // trailing white-spaces can exceed the window
+        window.endOfInput();
+        while (!isLastWindow()) {
+            map(windowStart + windowLength);
+            window.endOfInput();
+        }
+    }
+
+}
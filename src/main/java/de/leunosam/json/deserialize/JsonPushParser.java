@@ -0,0 +1,270 @@
+package de.leunosam.json.deserialize;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import de.leunosam.json.Json;
+
+/**
+ * An incremental parser, which is fed with chunks of UTF-8 bytes in any size,
+ * e.g. from a non-blocking channel, and hands every completed {@link Json} to a
+ * {@link Consumer}:<br>
+ * JsonPushParser&lt;Order&gt; parser = new JsonPushParser&lt;&gt;(deserializer,
+ * orders::add);<br>
+ * parser.feed(chunk); // for every received chunk<br>
+ * parser.finish(); // at the end of the input<br>
+ * The parser never blocks and never waits for more bytes. It only scans the
+ * bytes for the end of the current value and keeps its state (the nesting
+ * depth, inside of a String or a number) across the chunks. A value, which is
+ * completely inside of one chunk, is deserialized directly from it, only the
+ * bytes of a value, which is split across chunks, are collected. So the memory
+ * depends on the largest single value, not on the whole input.<br>
+ * The input is either a sequence of Jsons, which are separated by white-spaces
+ * (e.g. NDJSON), or one or more top-level Json-Arrays, whose elements are
+ * handed out one by one. Null values are skipped. After an exception the
+ * parser can't be used anymore. A JsonPushParser is not thread-safe.
+ *
+ * @param <O> your {@link Json}-Class
+ * @author LeunoSam
+ */
+public class JsonPushParser<O extends Json> {
+
+    // the states outside of a value, if the elements of arrays are handed out
+    private static final int BEFORE_ARRAY = 0;
+    private static final int BEFORE_FIRST_ELEMENT = 1;
+    private static final int BEFORE_ELEMENT = 2;
+    private static final int AFTER_ELEMENT = 3;
+
+    private final JsonDeserializer<O> deserializer;
+    private final Consumer<? super O> consumer;
+    private final boolean unwrapArrays;
+
+    private int arrayState = BEFORE_ARRAY;
+    private boolean inValue = false;
+    private boolean inString = false;
+    // the nesting of objects and arrays inside of the current value
+    private int depth = 0;
+    // the bytes of the current value from the previous chunks
+    private byte[] pending = new byte[256];
+    private int pendingSize = 0;
+    // the number of bytes of the previous chunks, for the messages
+    private long offset = 0;
+    // the offset of the index 0 of the current chunk
+    private long chunkOffset;
+    private long valueOffset;
+
+    /**
+     * Creates a new JsonPushParser for a sequence of Jsons.
+     *
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @param consumer     receives every completed {@link Json}.
+     */
+    public JsonPushParser(JsonDeserializer<O> deserializer, Consumer<? super O> consumer) {
+        this(deserializer, consumer, false);
+    }
+
+    /**
+     * Creates a new JsonPushParser.
+     *
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @param consumer     receives every completed {@link Json}.
+     * @param unwrapArrays true if the input contains Json-Arrays, whose elements
+     *                     should be handed out.
+     */
+    public JsonPushParser(JsonDeserializer<O> deserializer, Consumer<? super O> consumer,
+            boolean unwrapArrays) {
+        super();
+        this.deserializer = deserializer;
+        this.consumer = consumer;
+        this.unwrapArrays = unwrapArrays;
+    }
+
+    /**
+     * Parses the given bytes, see {@link JsonPushParser#feed(ByteBuffer)}.
+     *
+     * @param chunk  the next UTF-8 bytes.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public void feed(byte[] chunk, int offset, int length) {
+        feed(ByteBuffer.wrap(chunk, offset, length));
+    }
+
+    /**
+     * Parses all bytes between position and limit of the given
+     * {@link ByteBuffer} and hands out the completed {@link Json}s. Afterwards
+     * the position is set to the limit, so the {@link ByteBuffer} can be reused
+     * for the next chunk.
+     *
+     * @param chunk the next UTF-8 bytes.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public void feed(ByteBuffer chunk) {
+        int end = chunk.limit();
+        int valueStart = chunk.position();
+        chunkOffset = offset - valueStart;
+        for (int i = chunk.position(); i < end; i++) {
+            byte b = chunk.get(i);
+            if (inValue) {
+                if (inString) {
+                    if (b == '\"') {
+                        inString = false;
+                        if (depth == 0) {
+                            complete(chunk, valueStart, i + 1);
+                        }
+                    }
+                    continue;
+                } else if (depth > 0) {
+                    if (b == '\"') {
+                        inString = true;
+                    } else if (b == '{' || b == '[') {
+                        depth++;
+                    } else if ((b == '}' || b == ']') && --depth == 0) {
+                        complete(chunk, valueStart, i + 1);
+                    }
+                    continue;
+                } else if (!isDelimiter(b)) {
+                    // a number or literal continues
+                    continue;
+                }
+                complete(chunk, valueStart, i);
+            }
+            if (isWhitespace(b)) {
+                continue;
+            }
+            if (unwrapArrays && !nextElement(b, i)) {
+                continue;
+            }
+            valueStart = i;
+            startValue(b, i);
+        }
+        if (inValue) {
+            append(chunk, valueStart, end);
+        }
+        offset += end - chunk.position();
+        chunk.position(end);
+    }
+
+    /**
+     * Verifies that the input ends after a complete value. A number at the end
+     * of the input is handed out now.
+     *
+     * @throws JsonDeserializationException if a value or array isn't complete.
+     */
+    public void finish() {
+        if (inValue) {
+            if (inString || depth > 0) {
+                throw new JsonDeserializationException(
+                        "Unexpected end of input in the value at offset " + valueOffset);
+            }
+            complete(null, 0, 0);
+        }
+        if (arrayState != BEFORE_ARRAY) {
+            throw new JsonDeserializationException("Unexpected end of input in an array");
+        }
+    }
+
+    /**
+     * Handles the brackets and commas of the unwrapped arrays.
+     *
+     * @return true if an element starts with the given byte.
+     */
+    private boolean nextElement(byte b, int index) {
+        switch (arrayState) {
+        case BEFORE_ARRAY -> {
+            if (b != '[') {
+                throw unexpected("'['", index);
+            }
+            arrayState = BEFORE_FIRST_ELEMENT;
+            return false;
+        }
+        case BEFORE_FIRST_ELEMENT, AFTER_ELEMENT -> {
+            if (b == ']') {
+                arrayState = BEFORE_ARRAY;
+                return false;
+            } else if (arrayState == AFTER_ELEMENT) {
+                if (b != ',') {
+                    throw unexpected("',' or ']'", index);
+                }
+                arrayState = BEFORE_ELEMENT;
+                return false;
+            }
+            arrayState = AFTER_ELEMENT;
+            return true;
+        }
+        default -> {
+            arrayState = AFTER_ELEMENT;
+            return true;
+        }
+        }
+    }
+
+    private void startValue(byte b, int index) {
+        if (b == ',' || b == ':' || b == '}' || b == ']') {
+            throw unexpected("value", index);
+        }
+        inValue = true;
+        valueOffset = chunkOffset + index;
+        if (b == '\"') {
+            inString = true;
+        } else if (b == '{' || b == '[') {
+            depth = 1;
+        }
+    }
+
+    /**
+     * Deserializes the current value, which ends in the given chunk.
+     *
+     * @param chunk      the current chunk, null at the end of the input.
+     * @param valueStart the index of the first byte of the value in the chunk.
+     * @param valueEnd   the index after the last byte of the value.
+     */
+    private void complete(ByteBuffer chunk, int valueStart, int valueEnd) {
+        inValue = false;
+        O result;
+        try {
+            if (pendingSize == 0) {
+                // the whole value is inside of this chunk
+                result = deserializer.getObject(chunk.slice(valueStart, valueEnd - valueStart));
+            } else {
+                if (chunk != null) {
+                    append(chunk, valueStart, valueEnd);
+                }
+                result = deserializer.getObject(pending, 0, pendingSize);
+                pendingSize = 0;
+            }
+        } catch (JsonDeserializationException e) {
+            throw new JsonDeserializationException(
+                    "Value at offset " + valueOffset + ": " + e.getMessage(), e);
+        }
+        if (result != null) {
+            consumer.accept(result);
+        }
+    }
+
+    private void append(ByteBuffer chunk, int start, int end) {
+        int length = end - start;
+        if (pendingSize + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + length));
+        }
+        chunk.get(start, pending, pendingSize, length);
+        pendingSize += length;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return isWhitespace(b) || b == ',' || b == ']' || b == '}' || b == ':' || b == '['
+                || b == '{' || b == '\"';
+    }
+
+    private JsonDeserializationException unexpected(String expected, int index) {
+        return new JsonDeserializationException(
+                "Expected " + expected + " at offset " + (chunkOffset + index));
+    }
+
+}
@@ -0,0 +1,653 @@
+package de.leunosam.json.deserialize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonConstants;
+import de.leunosam.json.util.JsonNumbers;
+
+/**
+ * A pull-parser, which reads a Json token by token from a {@link Reader} or
+ * {@link InputStream}, e.g.:<br>
+ * reader.beginObject();<br>
+ * while (reader.hasNext()) {<br>
+ * &emsp;String name = reader.nextName();<br>
+ * &emsp;if (name.equals("id")) {<br>
+ * &emsp;&emsp;id = reader.nextLong();<br>
+ * &emsp;} else if (name.equals("orders")) {<br>
+ * &emsp;&emsp;orders = JsonDeserializer.readObjectList(reader.nextValue(),
+ * deserializer);<br>
+ * &emsp;} else {<br>
+ * &emsp;&emsp;reader.skipValue();<br>
+ * &emsp;}<br>
+ * }<br>
+ * reader.endObject();<br>
+ * The chars are read in chunks into a buffer of a fixed size, so the memory
+ * doesn't depend on the size of the Json, only on the largest single String or
+ * number. Nested values can be copied by {@link JsonReader#nextValue()} for the
+ * read-methods of the {@link JsonDeserializer} or deserialized by
+ * {@link JsonReader#readObject(JsonDeserializer)}, then they have to fit into
+ * the memory. Like the rest of this library, no escape-sequences are
+ * interpreted. A JsonReader is not thread-safe.
+ *
+ * @author LeunoSam
+ */
+public class JsonReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    // the states of the open objects and arrays
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    // a name is read, the colon and the value follow
+    private static final int DANGLING_NAME = 6;
+
+    private final Reader in;
+    private final char[] buffer;
+    // the chars between position and limit are not read yet
+    private int position = 0;
+    private int limit = 0;
+    // the number of chars before the buffer, for the messages
+    private long offset = 0;
+
+    private int[] stack = new int[16];
+    private int depth = 1;
+    // the next token, null if it is not peeked yet
+    private JsonToken peeked;
+    // the text of the last String, name or literal
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Creates a new JsonReader with a buffer of 8 Ki chars.
+     *
+     * @param in a {@link Reader}, which contains one Json.
+     */
+    public JsonReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new JsonReader with a buffer of 8 Ki chars.
+     *
+     * @param in an {@link InputStream} with the UTF-8 bytes of one Json.
+     */
+    public JsonReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a new JsonReader.
+     *
+     * @param in         a {@link Reader}, which contains one Json.
+     * @param bufferSize the number of chars, which are read at once.
+     */
+    public JsonReader(Reader in, int bufferSize) {
+        super();
+        this.in = in;
+        this.buffer = new char[Math.max(bufferSize, 16)];
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Returns the kind of the next token without reading it.
+     *
+     * @return the next {@link JsonToken}.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public JsonToken peek() throws IOException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    /**
+     * Reads the next token of any kind. The text of names, Strings, numbers,
+     * booleans and null can be requested afterwards by
+     * {@link JsonReader#getText()}.
+     *
+     * @return the read {@link JsonToken}.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = peek();
+        text.setLength(0);
+        switch (token) {
+        case BEGIN_OBJECT -> beginObject();
+        case END_OBJECT -> endObject();
+        case BEGIN_ARRAY -> beginArray();
+        case END_ARRAY -> endArray();
+        case NAME -> readName(text);
+        case STRING -> readString(text);
+        case NUMBER, BOOLEAN, NULL -> readLiteral(text);
+        case END_DOCUMENT -> {
+            // nothing to read
+        }
+        }
+        return token;
+    }
+
+    /**
+     * @return the text of the last token, which was read by
+     *         {@link JsonReader#nextToken()}, e.g. a name without "".
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    /**
+     * Reads the start of an object.
+     *
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the next token is no object.
+     */
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        position++;
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Reads the end of the current object.
+     *
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if there are fields left.
+     */
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        position++;
+        depth--;
+    }
+
+    /**
+     * Reads the start of an array.
+     *
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the next token is no array.
+     */
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        position++;
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Reads the end of the current array.
+     *
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if there are elements left.
+     */
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        position++;
+        depth--;
+    }
+
+    /**
+     * @return true if the current object or array has another field or element.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY
+                && token != JsonToken.END_DOCUMENT;
+    }
+
+    /**
+     * @return the name of the next field without "".
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the next token is no name.
+     */
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        text.setLength(0);
+        readName(text);
+        return text.toString();
+    }
+
+    /**
+     * @return the content of the next String without "", or null.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the next value is no String.
+     */
+    public String nextString() throws IOException {
+        if (readNull()) {
+            return null;
+        }
+        expect(JsonToken.STRING);
+        text.setLength(0);
+        readString(text);
+        return text.toString();
+    }
+
+    /**
+     * Reads the next value as primitive boolean. Like
+     * {@link Boolean#parseBoolean(String)}, everything except "true" is false.
+     *
+     * @return the value.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the next value is no literal.
+     */
+    public boolean nextBoolean() throws IOException {
+        return Boolean.parseBoolean(nextLiteral());
+    }
+
+    /**
+     * @return the next value as primitive int.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws NumberFormatException        if the value is no int.
+     * @throws JsonDeserializationException if the next value is no literal.
+     */
+    public int nextInt() throws IOException {
+        nextLiteralText();
+        return Integer.parseInt(text, 0, text.length(), 10);
+    }
+
+    /**
+     * @return the next value as primitive long.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws NumberFormatException        if the value is no long.
+     * @throws JsonDeserializationException if the next value is no literal.
+     */
+    public long nextLong() throws IOException {
+        nextLiteralText();
+        return Long.parseLong(text, 0, text.length(), 10);
+    }
+
+    /**
+     * @return the next value as primitive double.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws NumberFormatException        if the value is no double.
+     * @throws JsonDeserializationException if the next value is no literal.
+     */
+    public double nextDouble() throws IOException {
+        nextLiteralText();
+        return JsonNumbers.parseDouble(text, 0, text.length());
+    }
+
+    /**
+     * Reads the next value if it is null.
+     *
+     * @return true if the next value was null, otherwise false and nothing is
+     *         read.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public boolean readNull() throws IOException {
+        if (peek() != JsonToken.NULL) {
+            return false;
+        }
+        if (!JsonConstants.JSON_NULL.equals(nextLiteral())) {
+            throw new JsonDeserializationException("Unexpected " + text + " at index " + index());
+        }
+        return true;
+    }
+
+    /**
+     * Skips the next value, including nested objects and arrays, without
+     * copying it. If the next token is a name, the name and its value are
+     * skipped.
+     *
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public void skipValue() throws IOException {
+        if (peek() == JsonToken.NAME) {
+            readName(null);
+        }
+        int count = 0;
+        do {
+            switch (peek()) {
+            case BEGIN_OBJECT -> {
+                beginObject();
+                count++;
+            }
+            case BEGIN_ARRAY -> {
+                beginArray();
+                count++;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                if (count == 0) {
+                    throw unexpected("value");
+                }
+                if (peeked == JsonToken.END_OBJECT) {
+                    endObject();
+                } else {
+                    endArray();
+                }
+                count--;
+            }
+            case NAME -> readName(null);
+            case STRING -> readString(null);
+            case NUMBER, BOOLEAN, NULL -> readLiteral(null);
+            case END_DOCUMENT -> throw unexpected("value");
+            }
+        } while (count > 0);
+    }
+
+    /**
+     * Copies the next value, e.g. a nested object or array, into a
+     * {@link String}, which can be read by the read-methods of the
+     * {@link JsonDeserializer}, e.g.
+     * {@link JsonDeserializer#readLongList(String)}.
+     *
+     * @return the value, white-spaces between its tokens are removed.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public String nextValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        copyValue(value);
+        return value.toString();
+    }
+
+    /**
+     * Deserializes the next value with the given {@link JsonDeserializer}. Only
+     * this value has to fit into the memory, so large arrays can be read
+     * element by element:<br>
+     * reader.beginArray();<br>
+     * while (reader.hasNext()) {<br>
+     * &emsp;Order order = reader.readObject(deserializer);<br>
+     * }
+     *
+     * @param <T>          your {@link Json}-Class
+     * @param deserializer the {@link JsonDeserializer} of your class.
+     * @return the deserialized {@link Json}, null if the value is null.
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if the Json is malformed.
+     */
+    public <T extends Json> T readObject(JsonDeserializer<T> deserializer) throws IOException {
+        if (readNull()) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder();
+        copyValue(value);
+        return deserializer.getObject(new JsonTokenizer(value));
+    }
+
+    /**
+     * Verifies that only white-spaces are left.
+     *
+     * @throws IOException                  if the {@link Reader} fails.
+     * @throws JsonDeserializationException if there are other chars left.
+     */
+    public void endOfInput() throws IOException {
+        expect(JsonToken.END_DOCUMENT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private JsonToken doPeek() throws IOException {
+        int scope = stack[depth - 1];
+        switch (scope) {
+        case EMPTY_DOCUMENT -> {
+            stack[depth - 1] = NONEMPTY_DOCUMENT;
+            return value(nextNonWhitespace());
+        }
+        case NONEMPTY_DOCUMENT -> {
+            if (nextNonWhitespace() >= 0) {
+                throw unexpected("end of input");
+            }
+            return JsonToken.END_DOCUMENT;
+        }
+        case EMPTY_ARRAY, NONEMPTY_ARRAY -> {
+            stack[depth - 1] = NONEMPTY_ARRAY;
+            int c = nextNonWhitespace();
+            if (c == ']') {
+                return JsonToken.END_ARRAY;
+            } else if (scope == NONEMPTY_ARRAY) {
+                if (c != ',') {
+                    throw unexpected("',' or ']'");
+                }
+                position++;
+                c = nextNonWhitespace();
+            }
+            return value(c);
+        }
+        case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+            int c = nextNonWhitespace();
+            if (c == '}') {
+                return JsonToken.END_OBJECT;
+            } else if (scope == NONEMPTY_OBJECT) {
+                if (c != ',') {
+                    throw unexpected("',' or '}'");
+                }
+                position++;
+                c = nextNonWhitespace();
+            }
+            if (c != '\"') {
+                throw unexpected("name");
+            }
+            return JsonToken.NAME;
+        }
+        case DANGLING_NAME -> {
+            if (nextNonWhitespace() != ':') {
+                throw unexpected("':'");
+            }
+            position++;
+            stack[depth - 1] = NONEMPTY_OBJECT;
+            return value(nextNonWhitespace());
+        }
+        default -> throw new IllegalStateException("Unknown scope " + scope);
+        }
+    }
+
+    /**
+     * @param c the first char of a value, which is not read yet.
+     */
+    private JsonToken value(int c) {
+        return switch (c) {
+        case '{' -> JsonToken.BEGIN_OBJECT;
+        case '[' -> JsonToken.BEGIN_ARRAY;
+        case '\"' -> JsonToken.STRING;
+        case 't', 'f' -> JsonToken.BOOLEAN;
+        case 'n' -> JsonToken.NULL;
+        case -1, '}', ']', ',', ':' -> throw unexpected("value");
+        default -> JsonToken.NUMBER;
+        };
+    }
+
+    private void expect(JsonToken token) throws IOException {
+        if (peek() != token) {
+            throw new JsonDeserializationException(
+                    "Expected " + token + " but was " + peeked + " at index " + index());
+        }
+        peeked = null;
+    }
+
+    private String nextLiteral() throws IOException {
+        nextLiteralText();
+        return text.toString();
+    }
+
+    private void nextLiteralText() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.BOOLEAN && token != JsonToken.NULL) {
+            throw new JsonDeserializationException(
+                    "Expected a literal but was " + token + " at index " + index());
+        }
+        peeked = null;
+        text.setLength(0);
+        readLiteral(text);
+    }
+
+    private void copyValue(StringBuilder target) throws IOException {
+        JsonToken token = peek();
+        switch (token) {
+        case BEGIN_OBJECT -> {
+            beginObject();
+            target.append('{');
+            for (boolean first = true; hasNext(); first = false) {
+                if (!first) {
+                    target.append(',');
+                }
+                expect(JsonToken.NAME);
+                target.append('\"');
+                readName(target);
+                target.append("\":");
+                copyValue(target);
+            }
+            endObject();
+            target.append('}');
+        }
+        case BEGIN_ARRAY -> {
+            beginArray();
+            target.append('[');
+            for (boolean first = true; hasNext(); first = false) {
+                if (!first) {
+                    target.append(',');
+                }
+                copyValue(target);
+            }
+            endArray();
+            target.append(']');
+        }
+        case STRING -> {
+            peeked = null;
+            target.append('\"');
+            readString(target);
+            target.append('\"');
+        }
+        case NUMBER, BOOLEAN, NULL -> {
+            peeked = null;
+            readLiteral(target);
+        }
+        default -> throw unexpected("value");
+        }
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    private void readName(StringBuilder target) throws IOException {
+        peeked = null;
+        readString(target);
+        stack[depth - 1] = DANGLING_NAME;
+    }
+
+    /**
+     * Reads a String, which starts at the current position.
+     *
+     * @param target receives the content without "", null to skip it.
+     */
+    private void readString(StringBuilder target) throws IOException {
+        peeked = null;
+        long start = index();
+        // skip the opening quote
+        position++;
+        while (true) {
+            int quote = indexOfQuote();
+            int stop = quote < 0 ? limit : quote;
+            if (target != null) {
+                target.append(buffer, position, stop - position);
+            }
+            position = stop;
+            if (quote >= 0) {
+                position++;
+                return;
+            }
+            if (!fill()) {
+                throw new JsonDeserializationException("Unterminated string at index " + start);
+            }
+        }
+    }
+
+    private int indexOfQuote() {
+        for (int i = position; i < limit; i++) {
+            if (buffer[i] == '\"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads a number, boolean or null, which starts at the current position.
+     *
+     * @param target receives the literal, null to skip it.
+     */
+    private void readLiteral(StringBuilder target) throws IOException {
+        peeked = null;
+        while (true) {
+            int stop = position;
+            while (stop < limit && !isDelimiter(buffer[stop])) {
+                stop++;
+            }
+            if (target != null) {
+                target.append(buffer, position, stop - position);
+            }
+            position = stop;
+            if (stop < limit || !fill()) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == '}' || c == ']' || c == ':' || c == '\"' || c == '{' || c == '['
+                || Character.isWhitespace(c);
+    }
+
+    /**
+     * @return the next char without reading it, -1 at the end of the input.
+     */
+    private int nextNonWhitespace() throws IOException {
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the completely read buffer by the next chunk.
+     *
+     * @return false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        offset += limit;
+        position = 0;
+        limit = 0;
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private long index() {
+        return offset + position;
+    }
+
+    private JsonDeserializationException unexpected(String expected) {
+        return new JsonDeserializationException("Expected " + expected + " at index " + index());
+    }
+
+}
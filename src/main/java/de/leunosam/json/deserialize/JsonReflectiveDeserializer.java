@@ -0,0 +1,347 @@
+package de.leunosam.json.deserialize;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonField;
+import de.leunosam.json.util.JsonFieldAccessor;
+import de.leunosam.json.util.JsonFields;
+
+/**
+ * A {@link JsonDeserializer}, which uses the {@link JsonField}s of a
+ * {@link Json}-Class to deserialize it, so you don't have to write your own.
+ * The values are read by a {@link JsonTokenizer} and assigned to a new
+ * instance while the fields arrive, without an intermediate {@link java.util.Map}.
+ * The field-names are looked up in a hash-table, which is computed once per
+ * class. Unknown fields are skipped.<br>
+ * The {@link Json}-Class needs a constructor without parameters, so inner
+ * classes have to be static.
+ *
+ * @param <O> your {@link Json}-Class
+ * @author LeunoSam
+ */
+public class JsonReflectiveDeserializer<O extends Json> extends JsonDeserializer<O> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final ClassValue<JsonReflectiveDeserializer<?>> DESERIALIZERS =
+            new ClassValue<>() {
+
+                @Override
+                protected JsonReflectiveDeserializer<?> computeValue(Class<?> jsonClass) {
+                    return new JsonReflectiveDeserializer<>(jsonClass.asSubclass(Json.class),
+                            false);
+                }
+            };
+
+    private static final ClassValue<JsonReflectiveDeserializer<?>> REUSING_DESERIALIZERS =
+            new ClassValue<>() {
+
+                @Override
+                protected JsonReflectiveDeserializer<?> computeValue(Class<?> jsonClass) {
+                    return new JsonReflectiveDeserializer<>(jsonClass.asSubclass(Json.class),
+                            true);
+                }
+            };
+
+    private final Class<O> jsonClass;
+    private final boolean reuse;
+    private final MethodHandle constructor;
+    private final JsonFieldAccessor[] accessors;
+    // resolved on first use, because a class can contain itself
+    private final JsonDeserializer<?>[] nestedDeserializers;
+    // open addressing, the hash of a name is stored with the index of its accessor
+    private final int[] hashes;
+    private final int[] indexes;
+    private final int mask;
+
+    private JsonReflectiveDeserializer(Class<O> jsonClass, boolean reuse) {
+        super();
+        this.jsonClass = jsonClass;
+        this.reuse = reuse;
+        this.constructor = findConstructor(jsonClass);
+        List<JsonFieldAccessor> accessorList = JsonFields.getAccessors(jsonClass);
+        this.accessors = accessorList.toArray(new JsonFieldAccessor[0]);
+        this.nestedDeserializers = new JsonDeserializer<?>[accessors.length];
+
+        // every name is added twice, for String- and UTF-8-input, at most 25% are used
+        int size = Integer.highestOneBit(Math.max(accessors.length, 1) * 8);
+        this.hashes = new int[size];
+        this.indexes = new int[size];
+        this.mask = size - 1;
+        for (int i = 0; i < accessors.length; i++) {
+            String name = accessors[i].getJsonName();
+            int charHash = hash(name);
+            addName(charHash, i);
+            int byteHash = hash(
+                    new Utf8CharSequence(ByteBuffer.wrap(name.getBytes(StandardCharsets.UTF_8))));
+            if (byteHash != charHash) {
+                addName(byteHash, i);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link JsonReflectiveDeserializer} of the given class, which is
+     * created only once.
+     *
+     * @param <O>       your {@link Json}-Class
+     * @param jsonClass a {@link Class}
+     * @return the {@link JsonReflectiveDeserializer} of the class.
+     */
+    @SuppressWarnings("unchecked")
+    public static <O extends Json> JsonReflectiveDeserializer<O> of(Class<O> jsonClass) {
+        return (JsonReflectiveDeserializer<O>) DESERIALIZERS.get(jsonClass);
+    }
+
+    /**
+     * Returns a {@link JsonReflectiveDeserializer} of the given class, which
+     * reuses the current values of the target in
+     * {@link JsonDeserializer#readInto(Json, JsonTokenizer)}: nested
+     * {@link Json}s are read into the existing instances, {@link java.util.ArrayList}s
+     * are cleared and refilled and arrays are overwritten, if they have the right
+     * length. Use it, if you read many Jsons of the same shape into one instance.
+     * The values must not be shared with other objects.
+     *
+     * @param <O>       your {@link Json}-Class
+     * @param jsonClass a {@link Class}
+     * @return the reusing {@link JsonReflectiveDeserializer} of the class.
+     */
+    @SuppressWarnings("unchecked")
+    public static <O extends Json> JsonReflectiveDeserializer<O> reusing(Class<O> jsonClass) {
+        return (JsonReflectiveDeserializer<O>) REUSING_DESERIALIZERS.get(jsonClass);
+    }
+
+    private static MethodHandle findConstructor(Class<?> jsonClass) {
+        try {
+            Constructor<?> noArgs = jsonClass.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(noArgs).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            // e.g. an inner class, the error is thrown when the class is deserialized
+            return null;
+        }
+    }
+
+    private void addName(int hash, int index) {
+        int slot = hash & mask;
+        // 0 marks an empty slot, the indexes are stored incremented
+        while (indexes[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        indexes[slot] = index + 1;
+    }
+
+    private static int hash(CharSequence name) {
+        return hash(name, 0, name.length());
+    }
+
+    private static int hash(CharSequence source, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return 0;
+        }
+        int hash = length;
+        hash = 31 * hash + source.charAt(start);
+        hash = 31 * hash + source.charAt(start + length / 2);
+        hash = 31 * hash + source.charAt(end - 1);
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public O getObject(String json) {
+        JsonTokenizer tokenizer = new JsonTokenizer(json);
+        O result = getObject(tokenizer);
+        tokenizer.endOfInput();
+        return result;
+    }
+
+    @Override
+    public O getObject(JsonTokenizer tokenizer) {
+        if (tokenizer.readNull()) {
+            return null;
+        }
+        O result = newInstance();
+        readFields(tokenizer, result, null);
+        return result;
+    }
+
+    /**
+     * Writes the values directly into the fields of the target. Like in
+     * {@link JsonReflectiveDeserializer#getObject(JsonTokenizer)}, fields which
+     * are missing in the Json (or null for a primitive) get the values of a new
+     * instance. The new instance is only created, if a field is missing.
+     */
+    @Override
+    public void readInto(O target, JsonTokenizer tokenizer) {
+        if (target.getClass() != jsonClass) {
+            throw new JsonDeserializationException(
+                    "The JsonDeserializer can't read into " + target.getClass().getName());
+        }
+        long[] moreFields = accessors.length > Long.SIZE
+                ? new long[(accessors.length - 1) / Long.SIZE]
+                : null;
+        long fields = readFields(tokenizer, target, moreFields);
+        O defaults = null;
+        for (int i = 0; i < accessors.length; i++) {
+            long bits = i < Long.SIZE ? fields : moreFields[i / Long.SIZE - 1];
+            if ((bits & 1L << i) == 0) {
+                if (defaults == null) {
+                    defaults = newInstance();
+                }
+                accessors[i].set(target, accessors[i].get(defaults));
+            }
+        }
+    }
+
+    /**
+     * @return a bit for every field, which got a value. The fields after the
+     *         64th are marked in moreFields, if it isn't null.
+     */
+    private long readFields(JsonTokenizer tokenizer, O json, long[] moreFields) {
+        long fields = 0;
+        tokenizer.beginObject();
+        while (tokenizer.nextField()) {
+            int index = findField(tokenizer);
+            if (index < 0) {
+                tokenizer.skipValue();
+            } else if (readField(tokenizer, json, index)) {
+                if (index < Long.SIZE) {
+                    fields |= 1L << index;
+                } else if (moreFields != null) {
+                    moreFields[index / Long.SIZE - 1] |= 1L << index;
+                }
+            }
+        }
+        return fields;
+    }
+
+    private O newInstance() {
+        if (constructor == null) {
+            throw new JsonDeserializationException(
+                    jsonClass.getName() + " needs a constructor without parameters!");
+        }
+        try {
+            return jsonClass.cast((Object) constructor.invokeExact());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new JsonDeserializationException(e);
+        }
+    }
+
+    private int findField(JsonTokenizer tokenizer) {
+        int hash = hash(tokenizer.getSource(), tokenizer.getNameStart(), tokenizer.getNameEnd());
+        for (int slot = hash & mask; indexes[slot] != 0; slot = (slot + 1) & mask) {
+            int index = indexes[slot] - 1;
+            if (hashes[slot] == hash && tokenizer.nameEquals(accessors[index].getJsonName())) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return false if the value is null and can't be assigned.
+     */
+    private boolean readField(JsonTokenizer tokenizer, O json, int index) {
+        JsonFieldAccessor accessor = accessors[index];
+        if (accessor.getField().getType().isPrimitive()) {
+            return readPrimitiveField(tokenizer, json, accessor);
+        }
+        Object old = reuse ? accessor.get(json) : null;
+        Object value = switch (accessor.getKind()) {
+        case BOOLEAN -> tokenizer.readBoolean();
+        case INTEGER -> tokenizer.readInteger();
+        case LONG -> tokenizer.readLong();
+        case DOUBLE -> tokenizer.readDouble();
+        case STRING -> tokenizer.readString();
+        case OBJECT -> readObject(tokenizer, getNestedDeserializer(index), old);
+        case LIST -> readList(tokenizer, index, old);
+        case BOOLEAN_ARRAY -> readBooleanArray(tokenizer, (boolean[]) old);
+        case INT_ARRAY -> readIntArray(tokenizer, (int[]) old);
+        case LONG_ARRAY -> readLongArray(tokenizer, (long[]) old);
+        case DOUBLE_ARRAY -> readDoubleArray(tokenizer, (double[]) old);
+        default -> throw new JsonDeserializationException(
+                "The field " + accessor.getJsonName() + " is not json-deserializeable");
+        };
+        if (old == null || value != old) {
+            // a reused value is already assigned
+            accessor.set(json, value);
+        }
+        return true;
+    }
+
+    private static boolean readPrimitiveField(JsonTokenizer tokenizer, Json json,
+            JsonFieldAccessor accessor) {
+        if (tokenizer.readNull()) {
+            // null can't be assigned, the field is treated as missing
+            return false;
+        }
+        switch (accessor.getKind()) {
+        case BOOLEAN -> accessor.setBoolean(json, tokenizer.parseBoolean());
+        case INTEGER -> accessor.setInt(json, tokenizer.parseInt());
+        case LONG -> accessor.setLong(json, tokenizer.parseLong());
+        case DOUBLE -> accessor.setDouble(json, tokenizer.parseDouble());
+        default -> throw new JsonDeserializationException(
+                "The field " + accessor.getJsonName() + " is not json-deserializeable");
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Json> T readObject(JsonTokenizer tokenizer,
+            JsonDeserializer<T> deserializer, Object old) {
+        if (old == null || tokenizer.readNull()) {
+            return old == null ? deserializer.getObject(tokenizer) : null;
+        }
+        deserializer.readInto((T) old, tokenizer);
+        return (T) old;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<?> readList(JsonTokenizer tokenizer, int index, Object old) {
+        JsonFieldAccessor accessor = accessors[index];
+        return switch (accessor.getElementKind()) {
+        case BOOLEAN -> readBooleanList(tokenizer, (List<Boolean>) old);
+        case INTEGER -> readIntegerList(tokenizer, (List<Integer>) old);
+        case LONG -> readLongList(tokenizer, (List<Long>) old);
+        case DOUBLE -> readDoubleList(tokenizer, (List<Double>) old);
+        case STRING -> readStringList(tokenizer, (List<String>) old);
+        case OBJECT -> readObjects(tokenizer, getNestedDeserializer(index), old);
+        default -> throw new JsonDeserializationException(
+                "The List " + accessor.getJsonName() + " contains a not deserializeable Type!");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Json> List<T> readObjects(JsonTokenizer tokenizer,
+            JsonDeserializer<T> deserializer, Object old) {
+        return readObjectList(tokenizer, deserializer, (List<T>) old);
+    }
+
+    private JsonDeserializer<?> getNestedDeserializer(int index) {
+        JsonDeserializer<?> deserializer = nestedDeserializers[index];
+        if (deserializer == null) {
+            // a race is harmless, every thread gets the same deserializer
+            JsonFieldAccessor accessor = accessors[index];
+            Class<?> nestedClass = accessor.getElementType() == null
+                    ? accessor.getField().getType()
+                    : accessor.getElementType();
+            deserializer = Json.deserializerOf(nestedClass.asSubclass(Json.class));
+            if (reuse && deserializer == of(nestedClass.asSubclass(Json.class))) {
+                deserializer = reusing(nestedClass.asSubclass(Json.class));
+            }
+            nestedDeserializers[index] = deserializer;
+        }
+        return deserializer;
+    }
+
+}
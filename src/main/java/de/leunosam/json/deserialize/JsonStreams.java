@@ -0,0 +1,73 @@
+package de.leunosam.json.deserialize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Creates the {@link Stream}s of the readers, which hand out one Json after
+ * another, e.g. {@link JsonLinesReader} and {@link JsonMappedReader}.
+ *
+ * @author LeunoSam
+ */
+final class JsonStreams {
+
+    private JsonStreams() {
+        super();
+    }
+
+    /**
+     * Returns a sequential {@link Stream}, which calls read until it returns
+     * null. Closing the {@link Stream} closes the reader. An {@link IOException}
+     * is thrown as {@link UncheckedIOException}.
+     *
+     * @param <O>    the type of the elements.
+     * @param read   reads the next element, null at the end.
+     * @param reader the reader, which is closed with the {@link Stream}.
+     * @return a {@link Stream} of the remaining elements.
+     */
+    static <O> Stream<O> stream(Read<O> read, Closeable reader) {
+        Spliterator<O> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            @Override
+            public boolean tryAdvance(Consumer<? super O> action) {
+                O next;
+                try {
+                    next = read.read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (next == null) {
+                    return false;
+                }
+                action.accept(next);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Reads the next element, like {@link JsonLinesReader#read()}.
+     *
+     * @param <O> the type of the elements.
+     */
+    interface Read<O> {
+
+        O read() throws IOException;
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package de.leunosam.json.deserialize;
+
+/**
+ * The kinds of tokens, which are returned by {@link JsonReader#peek()}.
+ *
+ * @author LeunoSam
+ */
+public enum JsonToken {
+
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    /**
+     * The name of a field, the value follows.
+     */
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    /**
+     * The whole Json is read.
+     */
+    END_DOCUMENT;
+
+}
@@ -0,0 +1,562 @@
+package de.leunosam.json.deserialize;
+
+import java.nio.ByteBuffer;
+
+import de.leunosam.json.util.JsonConstants;
+import de.leunosam.json.util.JsonNumbers;
+
+/**
+ * This class runs exactly once through a Json-String and hands out the offsets
+ * of the field-names and values instead of copied {@link String}s. It is the
+ * base of all read-methods of the {@link JsonDeserializer}, but you can also
+ * use it directly in your own {@link JsonDeserializer}, e.g.:<br>
+ * tokenizer.beginObject();<br>
+ * while (tokenizer.nextField()) {<br>
+ * &emsp;if (tokenizer.nameEquals("id")) {<br>
+ * &emsp;&emsp;result.id = tokenizer.readInteger();<br>
+ * &emsp;} else {<br>
+ * &emsp;&emsp;tokenizer.skipValue();<br>
+ * &emsp;}<br>
+ * }
+ *
+ * @author LeunoSam
+ */
+public class JsonTokenizer {
+
+    private final CharSequence json;
+    // only set, if the tokenizer reads UTF-8 bytes
+    private final Utf8CharSequence utf8;
+    private final int end;
+    private int position;
+    // true after beginObject() or beginArray(), until the first field, element
+    // or the end is read
+    private boolean isStart = false;
+
+    // offsets of the last field-name, without ""
+    private int nameStart = -1;
+    private int nameEnd = -1;
+    // offsets of the last skipped value
+    private int valueStart = -1;
+    private int valueEnd = -1;
+
+    /**
+     * Creates a new JsonTokenizer for the whole given Json.
+     *
+     * @param json a {@link CharSequence}, which contains a Json.
+     */
+    public JsonTokenizer(CharSequence json) {
+        this(json, 0, json.length());
+    }
+
+    /**
+     * Creates a new JsonTokenizer for the given range of a Json.
+     *
+     * @param json  a {@link CharSequence}, which contains a Json.
+     * @param start the index of the first char of the range.
+     * @param end   the index after the last char of the range.
+     */
+    public JsonTokenizer(CharSequence json, int start, int end) {
+        this(json, null, start, end);
+    }
+
+    /**
+     * Creates a new JsonTokenizer, which reads UTF-8 bytes directly. Only the
+     * values of Strings and field-names are decoded, if they are requested.
+     *
+     * @param json   the UTF-8 bytes of a Json.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     */
+    public JsonTokenizer(byte[] json, int offset, int length) {
+        this(ByteBuffer.wrap(json, offset, length));
+    }
+
+    /**
+     * Creates a new JsonTokenizer, which reads the UTF-8 bytes between position
+     * and limit of the given {@link ByteBuffer} directly, without changing its
+     * position. Only the values of Strings and field-names are decoded, if they
+     * are requested.
+     *
+     * @param json a {@link ByteBuffer}, which contains a Json.
+     */
+    public JsonTokenizer(ByteBuffer json) {
+        this(new Utf8CharSequence(json));
+    }
+
+    private JsonTokenizer(Utf8CharSequence utf8) {
+        this(utf8, utf8, 0, utf8.length());
+    }
+
+    private JsonTokenizer(CharSequence json, Utf8CharSequence utf8, int start, int end) {
+        super();
+        this.json = json;
+        this.utf8 = utf8;
+        this.position = start;
+        this.end = end;
+    }
+
+    /**
+     * @return the {@link CharSequence}, which is read by this tokenizer. If the
+     *         tokenizer reads bytes, every byte is one char.
+     */
+    public CharSequence getSource() {
+        return json;
+    }
+
+    /**
+     * @return the index of the next char, which will be read.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Reads the start of an object. Use {@link JsonTokenizer#nextField()} to
+     * iterate through its fields.
+     *
+     * @throws JsonDeserializationException if the next value is no object.
+     */
+    public void beginObject() {
+        expect('{');
+        isStart = true;
+    }
+
+    /**
+     * Reads the next field-name of the current object and the following ':'. The
+     * value of the field has to be read or skipped before the next call.
+     *
+     * @return true if there is a next field, false if the object is finished.
+     * @throws JsonDeserializationException if the object is malformed, e.g. a ','
+     *                                      is missing or there is one too many.
+     */
+    public boolean nextField() {
+        skipWhitespace();
+        if (next() == '}') {
+            position++;
+            isStart = false;
+            return false;
+        } else if (isStart) {
+            isStart = false;
+        } else {
+            expect(',');
+            skipWhitespace();
+        }
+        if (next() != '\"') {
+            throw unexpected("field-name");
+        }
+        nameStart = position + 1;
+        nameEnd = findStringEnd(nameStart);
+        position = nameEnd + 1;
+        expect(':');
+        skipWhitespace();
+        return true;
+    }
+
+    /**
+     * Reads the start of an array. Use {@link JsonTokenizer#nextElement()} to
+     * iterate through its elements.
+     *
+     * @throws JsonDeserializationException if the next value is no array.
+     */
+    public void beginArray() {
+        expect('[');
+        isStart = true;
+    }
+
+    /**
+     * Moves to the next element of the current array. The element has to be read
+     * or skipped before the next call.
+     *
+     * @return true if there is a next element, false if the array is finished.
+     * @throws JsonDeserializationException if the array is malformed, e.g. a ','
+     *                                      is missing or there is one too many.
+     */
+    public boolean nextElement() {
+        skipWhitespace();
+        if (next() == ']') {
+            position++;
+            isStart = false;
+            return false;
+        } else if (isStart) {
+            isStart = false;
+        } else {
+            expect(',');
+            skipWhitespace();
+        }
+        if (next() == ',' || next() == ']') {
+            throw unexpected("value");
+        }
+        return true;
+    }
+
+    /**
+     * Counts the elements of the array, which starts at the current position,
+     * without reading it. This can be used to size the resulting collection.
+     *
+     * @return the number of elements of the next array.
+     * @throws JsonDeserializationException if the next value is no array.
+     */
+    public int countElements() {
+        skipWhitespace();
+        if (next() != '[') {
+            throw unexpected("'['");
+        }
+        int count = 0;
+        int blocked = 0;
+        boolean isString = false;
+        boolean isEmpty = true;
+        for (int i = position + 1; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '\"') {
+                isString = !isString;
+            } else if (isString || Character.isWhitespace(c)) {
+                // strings and white-spaces don't change the structure
+            } else if (c == ',' && blocked == 0) {
+                count++;
+            } else if (c == '{' || c == '[') {
+                blocked++;
+            } else if ((c == '}' || c == ']') && blocked-- == 0) {
+                return isEmpty ? 0 : count + 1;
+            }
+            isEmpty &= Character.isWhitespace(c);
+        }
+        throw unexpected("end of array");
+    }
+
+    /**
+     * @return the name of the last field, which was read by
+     *         {@link JsonTokenizer#nextField()}.
+     */
+    public String getName() {
+        return copy(nameStart, nameEnd);
+    }
+
+    /**
+     * Compares the name of the last field without copying it.
+     *
+     * @param name the expected field-name.
+     * @return true if the last field-name equals the given name.
+     */
+    public boolean nameEquals(String name) {
+        return textEquals(nameStart, nameEnd, name);
+    }
+
+    public int getNameStart() {
+        return nameStart;
+    }
+
+    public int getNameEnd() {
+        return nameEnd;
+    }
+
+    /**
+     * Skips the next value, including nested objects and arrays. Its offsets can
+     * be requested afterwards by {@link JsonTokenizer#getValueStart()} and
+     * {@link JsonTokenizer#getValueEnd()}.
+     *
+     * @throws JsonDeserializationException if the value is malformed.
+     */
+    public void skipValue() {
+        skipWhitespace();
+        valueStart = position;
+        char c = next();
+        if (c == '\"') {
+            position = findStringEnd(position + 1) + 1;
+        } else if (c == '{' || c == '[') {
+            skipNested();
+        } else {
+            position = findScalarEnd(position);
+            if (position == valueStart) {
+                throw unexpected("value");
+            }
+        }
+        valueEnd = position;
+    }
+
+    /**
+     * @return a copy of the last value, which was skipped by
+     *         {@link JsonTokenizer#skipValue()}.
+     */
+    public String getValue() {
+        return copy(valueStart, valueEnd);
+    }
+
+    public int getValueStart() {
+        return valueStart;
+    }
+
+    public int getValueEnd() {
+        return valueEnd;
+    }
+
+    /**
+     * Reads the next value if it is null.
+     *
+     * @return true if the next value was null, otherwise false and nothing is
+     *         read.
+     */
+    public boolean readNull() {
+        skipWhitespace();
+        int scalarEnd = findScalarEnd(position);
+        if (regionEquals(position, scalarEnd, JsonConstants.JSON_NULL)) {
+            position = scalarEnd;
+            return true;
+        }
+        return false;
+    }
+
+    public Boolean readBoolean() {
+        return readNull() ? null : parseBoolean();
+    }
+
+    public Integer readInteger() {
+        return readNull() ? null : parseInt();
+    }
+
+    public Long readLong() {
+        return readNull() ? null : parseLong();
+    }
+
+    public Double readDouble() {
+        return readNull() ? null : parseDouble();
+    }
+
+    /**
+     * Reads the next value as primitive boolean without boxing. Like
+     * {@link Boolean#parseBoolean(String)}, everything except "true" is false.
+     *
+     * @return the value.
+     */
+    public boolean parseBoolean() {
+        skipWhitespace();
+        int start = position;
+        position = findScalarEnd(start);
+        return regionEqualsIgnoreCase(start, position, Boolean.TRUE.toString());
+    }
+
+    /**
+     * Reads the next value as primitive int without boxing.
+     *
+     * @return the value.
+     * @throws NumberFormatException if the value is no int.
+     */
+    public int parseInt() {
+        skipWhitespace();
+        int start = position;
+        position = findScalarEnd(start);
+        return Integer.parseInt(json, start, position, 10);
+    }
+
+    /**
+     * Reads the next value as primitive long without boxing.
+     *
+     * @return the value.
+     * @throws NumberFormatException if the value is no long.
+     */
+    public long parseLong() {
+        skipWhitespace();
+        int start = position;
+        position = findScalarEnd(start);
+        return Long.parseLong(json, start, position, 10);
+    }
+
+    /**
+     * Reads the next value as primitive double without boxing.
+     *
+     * @return the value.
+     * @throws NumberFormatException if the value is no double.
+     */
+    public double parseDouble() {
+        skipWhitespace();
+        int start = position;
+        position = findScalarEnd(start);
+        return JsonNumbers.parseDouble(json, start, position);
+    }
+
+    /**
+     * Reads the next String-value. Like the rest of this library, no
+     * escape-sequences are interpreted.
+     *
+     * @return the content of the String without "", or null.
+     */
+    public String readString() {
+        if (readNull()) {
+            return null;
+        }
+        if (next() != '\"') {
+            throw unexpected("string");
+        }
+        int start = position + 1;
+        int stringEnd = findStringEnd(start);
+        position = stringEnd + 1;
+        return copy(start, stringEnd);
+    }
+
+    /**
+     * Verifies that only white-spaces are left.
+     *
+     * @throws JsonDeserializationException if there are other chars left.
+     */
+    public void endOfInput() {
+        skipWhitespace();
+        if (position < end) {
+            throw unexpected("end of input");
+        }
+    }
+
+    /**
+     * Creates a new JsonTokenizer for a range of the same source, e.g. for a
+     * value, whose offsets were saved before.
+     *
+     * @param start the index of the first char of the range.
+     * @param stop  the index after the last char of the range.
+     * @return a new JsonTokenizer.
+     */
+    JsonTokenizer range(int start, int stop) {
+        return new JsonTokenizer(json, utf8, start, stop);
+    }
+
+    /**
+     * Compares a range of the source with the given {@link String}, e.g. a
+     * field-name, whose offsets were saved before.
+     */
+    boolean textEquals(int start, int stop, String text) {
+        if (utf8 != null) {
+            return utf8.regionEquals(start, stop, text);
+        }
+        return regionEquals(start, stop, text);
+    }
+
+    /**
+     * Copies a range of the source, UTF-8 bytes are decoded.
+     */
+    String text(int start, int stop) {
+        return copy(start, stop);
+    }
+
+    /**
+     * @return the UTF-8 bytes of the source, null if the source are chars.
+     */
+    Utf8CharSequence getUtf8() {
+        return utf8;
+    }
+
+    /**
+     * @param start the index, where the search starts.
+     * @return the index of the next quote before the end, or -1.
+     */
+    int indexOfQuote(int start) {
+        if (utf8 != null) {
+            return utf8.indexOfQuote(start, end);
+        } else if (json instanceof String string) {
+            // String.indexOf is vectorized by the JVM
+            int quote = string.indexOf('\"', start);
+            return quote < end ? quote : -1;
+        }
+        for (int i = start; i < end; i++) {
+            if (json.charAt(i) == '\"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String copy(int start, int stop) {
+        if (utf8 != null) {
+            return utf8.decode(start, stop);
+        }
+        return json.subSequence(start, stop).toString();
+    }
+
+    private void skipNested() {
+        int blocked = 0;
+        while (position < end) {
+            char c = json.charAt(position);
+            if (c == '\"') {
+                position = findStringEnd(position + 1);
+            } else if (c == '{' || c == '[') {
+                blocked++;
+            } else if ((c == '}' || c == ']') && --blocked == 0) {
+                position++;
+                return;
+            }
+            position++;
+        }
+        throw unexpected("end of object or array");
+    }
+
+    private int findStringEnd(int start) {
+        int quote = indexOfQuote(start);
+        if (quote < 0) {
+            throw new JsonDeserializationException("Unterminated string at index " + (start - 1));
+        }
+        return quote;
+    }
+
+    private int findScalarEnd(int start) {
+        int i = start;
+        while (i < end && !isScalarEnd(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isScalarEnd(char c) {
+        return c == ',' || c == '}' || c == ']' || c == ':' || Character.isWhitespace(c);
+    }
+
+    private void skipWhitespace() {
+        while (position < end && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (next() != c) {
+            throw unexpected("'" + c + "'");
+        }
+        position++;
+    }
+
+    private char next() {
+        if (position >= end) {
+            throw new JsonDeserializationException("Unexpected end of input");
+        }
+        return json.charAt(position);
+    }
+
+    private boolean regionEquals(int start, int stop, String other) {
+        if (stop - start != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < other.length(); i++) {
+            if (json.charAt(start + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean regionEqualsIgnoreCase(int start, int stop, String other) {
+        if (stop - start != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < other.length(); i++) {
+            if (Character.toLowerCase(json.charAt(start + i)) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private JsonDeserializationException unexpected(String expected) {
+        if (position >= end) {
+            return new JsonDeserializationException(
+                    "Expected " + expected + " but reached the end of input");
+        }
+        return new JsonDeserializationException("Expected " + expected + " at index " + position
+                + " but found '" + json.charAt(position) + "'");
+    }
+
+}
@@ -0,0 +1,157 @@
+package de.leunosam.json.deserialize;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A view of UTF-8 bytes as {@link CharSequence}, where every byte is one char.
+ * All structural chars of a Json are ASCII and every byte of a multi-byte
+ * UTF-8 char is greater than 0x7F, so the {@link JsonTokenizer} can run through
+ * the bytes without decoding them. Only the content of Strings has to be
+ * decoded, which is done by {@link Utf8CharSequence#decode(int, int)}.<br>
+ * The end of a String is searched 8 bytes at once, which are read as one long
+ * (SWAR, SIMD within a register).
+ *
+ * @author LeunoSam
+ */
+class Utf8CharSequence implements CharSequence {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long QUOTES = '\"' * ONES;
+
+    private final ByteBuffer bytes;
+
+    /**
+     * @param bytes the UTF-8 bytes between position and limit are used, the
+     *              position of the {@link ByteBuffer} is not changed.
+     */
+    Utf8CharSequence(ByteBuffer bytes) {
+        super();
+        // little endian, so the first byte is the lowest of a long
+        this.bytes = bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public int length() {
+        return bytes.limit();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(index) & 0xFF);
+    }
+
+    /**
+     * Returns the bytes of the range as ISO-8859-1 {@link String}. Use
+     * {@link Utf8CharSequence#decode(int, int)} for the real content.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return copy(start, end, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return copy(0, length(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Decodes the UTF-8 bytes of the given range.
+     *
+     * @param start the index of the first byte.
+     * @param end   the index after the last byte.
+     * @return the decoded {@link String}.
+     */
+    String decode(int start, int end) {
+        return copy(start, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the UTF-8 bytes of the given range with a {@link String}, without
+     * decoding the bytes.
+     *
+     * @param start the index of the first byte.
+     * @param end   the index after the last byte.
+     * @param other the {@link String} to compare.
+     * @return true if the range contains the UTF-8 bytes of the {@link String}.
+     */
+    boolean regionEquals(int start, int end, String other) {
+        int index = start;
+        for (int i = 0; i < other.length(); i++) {
+            char c = other.charAt(i);
+            if (c < 0x80) {
+                if (index >= end || charAt(index++) != c) {
+                    return false;
+                }
+            } else {
+                // rare case: compare the encoded char
+                int charEnd = Character.isHighSurrogate(c) ? i + 2 : i + 1;
+                byte[] encoded = other.substring(i, Math.min(charEnd, other.length()))
+                        .getBytes(StandardCharsets.UTF_8);
+                for (byte b : encoded) {
+                    if (index >= end || bytes.get(index++) != b) {
+                        return false;
+                    }
+                }
+                i = charEnd - 1;
+            }
+        }
+        return index == end;
+    }
+
+    /**
+     * Searches the next quote.
+     *
+     * @param start the index of the first byte.
+     * @param end   the index after the last byte.
+     * @return the index of the quote, -1 if there is none.
+     */
+    int indexOfQuote(int start, int end) {
+        int i = start;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            long found = equalBytes(bytes.getLong(i), QUOTES);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < end; i++) {
+            if (bytes.get(i) == '\"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a long with the bit 0x80 set in every byte, which is equal in both
+     *         longs. There are no false positives, unlike the shorter
+     *         (x - 0x01..) &amp; ~x &amp; 0x80.. variant.
+     */
+    private static long equalBytes(long word, long pattern) {
+        long x = word ^ pattern;
+        return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+    }
+
+    /**
+     * @param start the index of the first byte.
+     * @param end   the index after the last byte.
+     * @return a read-only {@link ByteBuffer}, which shares the bytes of the
+     *         range.
+     */
+    ByteBuffer slice(int start, int end) {
+        return bytes.slice(start, end - start).asReadOnlyBuffer();
+    }
+
+    private String copy(int start, int end, Charset charset) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + start, end - start, charset);
+        }
+        byte[] copy = new byte[end - start];
+        bytes.get(start, copy);
+        return new String(copy, charset);
+    }
+
+}
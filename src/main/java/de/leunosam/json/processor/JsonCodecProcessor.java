@@ -0,0 +1,585 @@
+package de.leunosam.json.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonClass;
+import de.leunosam.json.util.JsonCodec;
+import de.leunosam.json.util.JsonCodecs;
+import de.leunosam.json.util.JsonField;
+
+/**
+ * This annotation processor generates a {@link JsonCodec} for every
+ * {@link Json}-Class with {@link JsonField}s during the compilation. The codec
+ * accesses the fields directly, so neither reflections nor a hand-written
+ * deserializer are needed. Its output is identical to the reflective
+ * serialization of {@link Json}.<br>
+ * Inherited {@link JsonField}s are included, as long as the codec can access
+ * them.<br>
+ * A codec can only be generated if the class is not private, not nested in a
+ * private class, not abstract, not an inner class and has a constructor without
+ * parameters. Additionally
+ * all {@link JsonField}s must not be private or final. Otherwise the class is
+ * skipped and the reflective serialization is used. Compile with
+ * -Ajson.codec.verbose=true to get a note with the reason for every skipped
+ * class.<br>
+ * Generic classes get a codec for all parameterizations, e.g.
+ * JsonCodec&lt;Foo&lt;?&gt;&gt;.
+ *
+ * @author LeunoSam
+ */
+@SupportedAnnotationTypes({ "de.leunosam.json.util.JsonField", "de.leunosam.json.util.JsonClass" })
+@SupportedOptions(JsonCodecProcessor.VERBOSE)
+public class JsonCodecProcessor extends AbstractProcessor {
+
+    /**
+     * The option, which prints a note for every class without a codec.
+     */
+    public static final String VERBOSE = "json.codec.verbose";
+
+    private static final String DESERIALIZE = "de.leunosam.json.deserialize.";
+    private static final String SERIALIZE = "de.leunosam.json.serialize.";
+
+    public JsonCodecProcessor() {
+        super();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> jsonClasses = new LinkedHashSet<>();
+        for (Element field : roundEnv.getElementsAnnotatedWith(JsonField.class)) {
+            jsonClasses.add((TypeElement) field.getEnclosingElement());
+        }
+        for (Element clazz : roundEnv.getElementsAnnotatedWith(JsonClass.class)) {
+            jsonClasses.add((TypeElement) clazz);
+        }
+        for (TypeElement jsonClass : jsonClasses) {
+            try {
+                generateCodec(jsonClass);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "The JsonCodec could not be written: " + e.getMessage(), jsonClass);
+            }
+        }
+        // the annotations belong to this library, no other processor needs them
+        return true;
+    }
+
+    private void generateCodec(TypeElement jsonClass) throws IOException {
+        List<CodecField> fields = new ArrayList<>();
+        String reason = checkClass(jsonClass);
+        Set<String> names = new HashSet<>();
+        for (VariableElement field : getJsonFields(jsonClass)) {
+            if (reason != null) {
+                break;
+            }
+            CodecField codecField = new CodecField(field);
+            reason = codecField.check(jsonClass);
+            if (reason == null && !names.add(codecField.name)) {
+                reason = "the field " + codecField.name + " hides an inherited field";
+            }
+            fields.add(codecField);
+        }
+        if (reason != null) {
+            if (Boolean.parseBoolean(processingEnv.getOptions().get(VERBOSE))) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "No JsonCodec generated, " + reason, jsonClass);
+            }
+            return;
+        }
+
+        String packageName = getPackage(jsonClass);
+        String codecName = getFlatName(jsonClass) + JsonCodecs.SUFFIX;
+        String className = getTypeName(jsonClass);
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? codecName : packageName + "." + codecName,
+                        jsonClass)
+                .openWriter()) {
+            CodeWriter code = new CodeWriter(writer);
+            if (!packageName.isEmpty()) {
+                code.line("package " + packageName + ";").line("");
+            }
+            code.line("// generated by " + getClass().getName() + ", do not edit!");
+            code.line("public final class " + codecName + " extends " + DESERIALIZE
+                    + "JsonDeserializer<" + className + ">");
+            code.line("        implements de.leunosam.json.util.JsonCodec<" + className + "> {")
+                    .line("");
+            for (CodecField field : fields) {
+                if (field.nestedClass != null) {
+                    code.line("    private " + DESERIALIZE + "JsonDeserializer<" + field.nestedClass
+                            + "> " + field.deserializerName() + ";");
+                }
+            }
+            code.line("").line("    public " + codecName + "() {").line("        super();")
+                    .line("    }").line("");
+            writeSerialize(code, jsonClass, className, fields);
+            writeDeserialize(code, jsonClass, className, fields);
+            code.line("}");
+        }
+    }
+
+    private void writeSerialize(CodeWriter code, TypeElement jsonClass, String className,
+            List<CodecField> fields) throws IOException {
+        code.line("    @Override");
+        code.line("    public void serialize(" + className + " json, " + SERIALIZE
+                + "JsonSerializer serializer) {");
+        if (jsonClass.getAnnotation(JsonClass.class) != null) {
+            code.line("        serializer.addStringField(\"class\", \"" + jsonClass.getSimpleName()
+                    + "\");");
+        }
+        for (CodecField field : fields) {
+            String value = "json." + field.name;
+            String add = "serializer." + field.serializerMethod() + "(\"" + field.jsonName
+                    + "\", " + value + ");";
+            if (field.isPrimitive) {
+                code.line("        " + add);
+            } else {
+                code.line("        if (" + value + " == null) {");
+                code.line("            serializer.addNullField(\"" + field.jsonName + "\");");
+                code.line("        } else {");
+                code.line("            " + add);
+                code.line("        }");
+            }
+        }
+        code.line("    }").line("");
+        code.line("    @Override");
+        code.line("    public " + DESERIALIZE + "JsonDeserializer<" + className
+                + "> getDeserializer() {");
+        code.line("        return this;").line("    }").line("");
+    }
+
+    private void writeDeserialize(CodeWriter code, TypeElement jsonClass, String className,
+            List<CodecField> fields) throws IOException {
+        String rawName = jsonClass.getQualifiedName().toString();
+        String tokenizerClass = DESERIALIZE + "JsonTokenizer";
+        code.line("    @Override");
+        code.line("    public " + className + " getObject(String json) {");
+        code.line("        " + tokenizerClass + " tokenizer = new " + tokenizerClass + "(json);");
+        code.line("        " + className + " result = getObject(tokenizer);");
+        code.line("        tokenizer.endOfInput();");
+        code.line("        return result;").line("    }").line("");
+
+        code.line("    @Override");
+        code.line("    public " + className + " getObject(" + tokenizerClass + " tokenizer) {");
+        code.line("        if (tokenizer.readNull()) {").line("            return null;")
+                .line("        }");
+        code.line("        " + className + " result = new " + rawName
+                + (rawName.equals(className) ? "();" : "<>();"));
+        code.line("        readFields(result, tokenizer, false);");
+        code.line("        return result;").line("    }").line("");
+
+        code.line("    @Override");
+        code.line("    public void readInto(" + className + " result, " + tokenizerClass
+                + " tokenizer) {");
+        code.line("        if (result.getClass() != " + rawName + ".class) {");
+        code.line("            throw new " + DESERIALIZE + "JsonDeserializationException(");
+        code.line("                    \"The JsonCodec can't read into \""
+                + " + result.getClass().getName());");
+        code.line("        }");
+        code.line("        readFields(result, tokenizer, true);").line("    }").line("");
+
+        // like in JsonReflectiveDeserializer, a bit marks every field, which got a value
+        int words = (fields.size() + Long.SIZE - 1) / Long.SIZE;
+        code.line("    private void readFields(" + className + " result, " + tokenizerClass
+                + " tokenizer, boolean resetMissing) {");
+        for (int word = 0; word < words; word++) {
+            code.line("        long fields" + word + " = 0;");
+        }
+        code.line("        tokenizer.beginObject();");
+        code.line("        while (tokenizer.nextField()) {");
+        String prefix = "            if";
+        for (int i = 0; i < fields.size(); i++) {
+            CodecField field = fields.get(i);
+            String mark = "fields" + i / Long.SIZE + " |= 1L << " + i % Long.SIZE + ";";
+            code.line(prefix + " (tokenizer.nameEquals(\"" + field.jsonName + "\")) {");
+            if (field.isPrimitive) {
+                // null can't be assigned, the field is treated as missing
+                code.line("                if (!tokenizer.readNull()) {");
+                code.line("                    result." + field.name + " = "
+                        + field.readExpression() + ";");
+                code.line("                    " + mark);
+                code.line("                }");
+            } else {
+                code.line("                result." + field.name + " = " + field.readExpression()
+                        + ";");
+                code.line("                " + mark);
+            }
+            prefix = "            } else if";
+        }
+        if (fields.isEmpty()) {
+            code.line("            tokenizer.skipValue();");
+        } else {
+            code.line("            } else {").line("                tokenizer.skipValue();")
+                    .line("            }");
+        }
+        code.line("        }");
+        if (!fields.isEmpty()) {
+            // the missing fields get the values of a new instance, like in getObject
+            List<String> complete = new ArrayList<>();
+            for (int word = 0; word < words; word++) {
+                int size = Math.min(fields.size() - word * Long.SIZE, Long.SIZE);
+                complete.add("fields" + word + " != "
+                        + (size == Long.SIZE ? "-1L" : "0x" + Long.toHexString((1L << size) - 1)
+                                + "L"));
+            }
+            code.line("        if (resetMissing && (" + String.join(" || ", complete) + ")) {");
+            code.line("            " + className + " defaults = new " + rawName
+                    + (rawName.equals(className) ? "();" : "<>();"));
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i).name;
+                code.line("            if ((fields" + i / Long.SIZE + " & 1L << " + i % Long.SIZE
+                        + ") == 0) {");
+                code.line("                result." + name + " = defaults." + name + ";");
+                code.line("            }");
+            }
+            code.line("        }");
+        }
+        code.line("    }");
+
+        for (CodecField field : fields) {
+            if (field.nestedClass != null) {
+                code.line("");
+                code.line("    private " + DESERIALIZE + "JsonDeserializer<" + field.nestedClass
+                        + "> " + field.deserializerName() + "() {");
+                code.line("        if (" + field.deserializerName() + " == null) {");
+                code.line("            " + field.deserializerName()
+                        + " = de.leunosam.json.Json.deserializerOf(" + field.nestedClass
+                        + ".class);");
+                code.line("        }");
+                code.line("        return " + field.deserializerName() + ";").line("    }");
+            }
+        }
+    }
+
+    private String checkClass(TypeElement jsonClass) {
+        TypeMirror json = processingEnv.getElementUtils()
+                .getTypeElement(Json.class.getCanonicalName()).asType();
+        if (!processingEnv.getTypeUtils().isSubtype(jsonClass.asType(), json)) {
+            return "the class is no Json";
+        } else if (jsonClass.getModifiers().contains(Modifier.PRIVATE)) {
+            return "the class is private";
+        } else if (getPrivateEnclosingClass(jsonClass) != null) {
+            return "the enclosing class " + getPrivateEnclosingClass(jsonClass).getSimpleName()
+                    + " is private";
+        } else if (jsonClass.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "the class is abstract";
+        } else if (jsonClass.getNestingKind() != NestingKind.TOP_LEVEL
+                && !jsonClass.getModifiers().contains(Modifier.STATIC)) {
+            return "the class is an inner class";
+        } else if (!hasDefaultConstructor(jsonClass)) {
+            return "the class has no accessible constructor without parameters";
+        }
+        return null;
+    }
+
+    private static TypeElement getPrivateEnclosingClass(TypeElement jsonClass) {
+        // the codec is generated into the package, so it can't access the class
+        Element enclosing = jsonClass.getEnclosingElement();
+        while (enclosing instanceof TypeElement outer) {
+            if (outer.getModifiers().contains(Modifier.PRIVATE)) {
+                return outer;
+            }
+            enclosing = outer.getEnclosingElement();
+        }
+        return null;
+    }
+
+    private static boolean hasDefaultConstructor(TypeElement jsonClass) {
+        for (Element element : jsonClass.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.CONSTRUCTOR
+                    && ((ExecutableElement) element).getParameters().isEmpty()
+                    && !element.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<VariableElement> getJsonFields(TypeElement jsonClass) {
+        List<VariableElement> fields = new ArrayList<>();
+        // the fields of the super-classes come first, like in JsonFields
+        TypeMirror superclass = jsonClass.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!superElement.getQualifiedName().contentEquals(Json.class.getCanonicalName())) {
+                fields.addAll(getJsonFields(superElement));
+            }
+        }
+        for (Element element : jsonClass.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.FIELD
+                    && element.getAnnotation(JsonField.class) != null) {
+                VariableElement field = (VariableElement) element;
+                int index = indexOf(fields, getJsonName(field));
+                if (index < 0) {
+                    fields.add(field);
+                } else {
+                    // the field hides an inherited field with the same Json-name
+                    fields.set(index, field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static int indexOf(List<VariableElement> fields, String jsonName) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (getJsonName(fields.get(i)).equals(jsonName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String getJsonName(VariableElement field) {
+        String value = field.getAnnotation(JsonField.class).value();
+        return value.isBlank() ? field.getSimpleName().toString() : value;
+    }
+
+    /**
+     * Returns the qualified name of the class, generic classes get wildcards
+     * instead of raw types, e.g. Foo&lt;?&gt;.
+     */
+    private static String getTypeName(TypeElement jsonClass) {
+        String name = jsonClass.getQualifiedName().toString();
+        int parameters = jsonClass.getTypeParameters().size();
+        return parameters == 0 ? name
+                : name + "<" + String.join(", ", Collections.nCopies(parameters, "?")) + ">";
+    }
+
+    private String getPackage(Element element) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    private static String getFlatName(TypeElement jsonClass) {
+        Element enclosing = jsonClass.getEnclosingElement();
+        if (enclosing instanceof TypeElement outer) {
+            // like the binary name, so Outer.MyJson and Outer_MyJson don't collide
+            return getFlatName(outer) + "$" + jsonClass.getSimpleName();
+        }
+        return jsonClass.getSimpleName().toString();
+    }
+
+    /**
+     * The supported kinds of fields with the names of the methods, which
+     * serialize or deserialize them.
+     */
+    private enum Kind {
+
+        BOOLEAN("addBooleanField", "tokenizer.readBoolean()", "tokenizer.parseBoolean()"),
+        INTEGER("addIntegerField", "tokenizer.readInteger()", "tokenizer.parseInt()"),
+        LONG("addLongField", "tokenizer.readLong()", "tokenizer.parseLong()"),
+        DOUBLE("addDoubleField", "tokenizer.readDouble()", "tokenizer.parseDouble()"),
+        STRING("addStringField", "tokenizer.readString()", null),
+        OBJECT("addObjectField", "%s().getObject(tokenizer)", null),
+        BOOLEAN_LIST("addBooleanArrayField", "readBooleanList(tokenizer)", null),
+        INTEGER_LIST("addIntegerArrayField", "readIntegerList(tokenizer)", null),
+        LONG_LIST("addLongArrayField", "readLongList(tokenizer)", null),
+        DOUBLE_LIST("addDoubleArrayField", "readDoubleList(tokenizer)", null),
+        STRING_LIST("addStringArrayField", "readStringList(tokenizer)", null),
+        OBJECT_LIST("addObjectArrayField", "readObjectList(tokenizer, %s())", null),
+        BOOLEAN_ARRAY("addBooleanArrayField", "readBooleanArray(tokenizer)", null),
+        INT_ARRAY("addIntArrayField", "readIntArray(tokenizer)", null),
+        LONG_ARRAY("addLongArrayField", "readLongArray(tokenizer)", null),
+        DOUBLE_ARRAY("addDoubleArrayField", "readDoubleArray(tokenizer)", null);
+
+        private final String serializerMethod;
+        private final String readExpression;
+        private final String primitiveReadExpression;
+
+        private Kind(String serializerMethod, String readExpression,
+                String primitiveReadExpression) {
+            this.serializerMethod = serializerMethod;
+            this.readExpression = readExpression;
+            this.primitiveReadExpression = primitiveReadExpression;
+        }
+
+    }
+
+    private class CodecField {
+
+        private final VariableElement field;
+        private final String name;
+        private final String jsonName;
+        private Kind kind;
+        private boolean isPrimitive = false;
+        // the class of a nested Json or of the elements of a List<Json>
+        private String nestedClass;
+
+        private CodecField(VariableElement field) {
+            this.field = field;
+            this.name = field.getSimpleName().toString();
+            this.jsonName = getJsonName(field);
+        }
+
+        private String check(TypeElement jsonClass) {
+            Element declaringClass = field.getEnclosingElement();
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                return "the field " + name + " is private";
+            } else if (!declaringClass.equals(jsonClass)
+                    && !field.getModifiers().contains(Modifier.PUBLIC)
+                    && !getPackage(declaringClass).equals(getPackage(jsonClass))) {
+                return "the inherited field " + name + " is not accessible";
+            } else if (field.getModifiers().contains(Modifier.FINAL)
+                    || field.getModifiers().contains(Modifier.STATIC)) {
+                return "the field " + name + " is final or static";
+            } else if (jsonName.chars().anyMatch(c -> c == '"' || c == '\\' || c < 0x20)) {
+                // the name is pasted into string literals
+                return "the Json-name of the field " + name
+                        + " contains \", \\ or a control character";
+            }
+            kind = determineKind(field.asType());
+            return kind == null ? "the type of the field " + name + " is not supported" : null;
+        }
+
+        private Kind determineKind(TypeMirror type) {
+            switch (type.getKind()) {
+            case BOOLEAN:
+                isPrimitive = true;
+                return Kind.BOOLEAN;
+            case INT:
+                isPrimitive = true;
+                return Kind.INTEGER;
+            case LONG:
+                isPrimitive = true;
+                return Kind.LONG;
+            case DOUBLE:
+                isPrimitive = true;
+                return Kind.DOUBLE;
+            case ARRAY:
+                return determineArrayKind(
+                        ((javax.lang.model.type.ArrayType) type).getComponentType().getKind());
+            case DECLARED:
+                return determineDeclaredKind((DeclaredType) type);
+            default:
+                return null;
+            }
+        }
+
+        private Kind determineArrayKind(TypeKind componentKind) {
+            switch (componentKind) {
+            case BOOLEAN:
+                return Kind.BOOLEAN_ARRAY;
+            case INT:
+                return Kind.INT_ARRAY;
+            case LONG:
+                return Kind.LONG_ARRAY;
+            case DOUBLE:
+                return Kind.DOUBLE_ARRAY;
+            default:
+                return null;
+            }
+        }
+
+        private Kind determineDeclaredKind(DeclaredType type) {
+            String typeName = ((TypeElement) type.asElement()).getQualifiedName().toString();
+            if (typeName.equals(List.class.getName())) {
+                if (type.getTypeArguments().size() != 1
+                        || type.getTypeArguments().get(0).getKind() != TypeKind.DECLARED) {
+                    return null;
+                }
+                Kind elementKind = determineDeclaredKind(
+                        (DeclaredType) type.getTypeArguments().get(0));
+                return elementKind == null ? null : switch (elementKind) {
+                case BOOLEAN -> Kind.BOOLEAN_LIST;
+                case INTEGER -> Kind.INTEGER_LIST;
+                case LONG -> Kind.LONG_LIST;
+                case DOUBLE -> Kind.DOUBLE_LIST;
+                case STRING -> Kind.STRING_LIST;
+                case OBJECT -> Kind.OBJECT_LIST;
+                default -> null;
+                };
+            }
+            switch (typeName) {
+            case "java.lang.Boolean":
+                return Kind.BOOLEAN;
+            case "java.lang.Integer":
+                return Kind.INTEGER;
+            case "java.lang.Long":
+                return Kind.LONG;
+            case "java.lang.Double":
+                return Kind.DOUBLE;
+            case "java.lang.String":
+                return Kind.STRING;
+            default:
+                TypeMirror json = processingEnv.getElementUtils()
+                        .getTypeElement(Json.class.getCanonicalName()).asType();
+                // generic Jsons would need raw types in the codec
+                if (!type.getTypeArguments().isEmpty()
+                        || !((TypeElement) type.asElement()).getTypeParameters().isEmpty()
+                        || !processingEnv.getTypeUtils().isSubtype(type, json)) {
+                    return null;
+                }
+                nestedClass = typeName;
+                return Kind.OBJECT;
+            }
+        }
+
+        private String serializerMethod() {
+            boolean parallel = field.getAnnotation(JsonField.class).parallel();
+            return kind == Kind.OBJECT_LIST && parallel ? "addObjectArrayFieldParallel"
+                    : kind.serializerMethod;
+        }
+
+        private String deserializerName() {
+            return name + "Deserializer";
+        }
+
+        private String readExpression() {
+            String expression = isPrimitive ? kind.primitiveReadExpression : kind.readExpression;
+            return expression.contains("%s") ? String.format(expression, deserializerName())
+                    : expression;
+        }
+
+    }
+
+    /**
+     * Writes the lines of the generated source file.
+     */
+    private static class CodeWriter {
+
+        private final Writer writer;
+
+        private CodeWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        private CodeWriter line(String line) throws IOException {
+            writer.write(line);
+            writer.write('\n');
+            return this;
+        }
+
+    }
+
+}
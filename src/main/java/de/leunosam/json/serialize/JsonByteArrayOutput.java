@@ -0,0 +1,129 @@
+package de.leunosam.json.serialize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import de.leunosam.json.Json;
+
+/**
+ * A {@link JsonUtf8Output}, which writes into a growing byte-array. The array
+ * can be reused for the next {@link Json} by calling
+ * {@link JsonByteArrayOutput#reset()}, so serializing many {@link Json}s
+ * allocates no new buffers once the array is big enough.
+ *
+ * @author LeunoSam
+ */
+public class JsonByteArrayOutput extends JsonUtf8Output {
+
+    private byte[] buffer;
+    private int size = 0;
+
+    public JsonByteArrayOutput() {
+        this(256);
+    }
+
+    /**
+     * @param initialCapacity the initial size of the byte-array.
+     */
+    public JsonByteArrayOutput(int initialCapacity) {
+        super();
+        this.buffer = new byte[initialCapacity];
+    }
+
+    @Override
+    protected void write(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    @Override
+    protected void write(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    @Override
+    public JsonByteArrayOutput append(CharSequence csq, int start, int end) throws IOException {
+        if (hasHighSurrogate()) {
+            super.append(csq, start, end);
+            return this;
+        }
+        ensureCapacity(end - start);
+        int i = start;
+        // fast path: every ASCII-char is exactly one byte
+        for (char c; i < end && (c = csq.charAt(i)) < 0x80; i++) {
+            buffer[size++] = (byte) c;
+        }
+        if (i < end) {
+            super.append(csq, i, end);
+        }
+        return this;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+
+    /**
+     * Forgets the written bytes, but keeps the byte-array for the next
+     * {@link Json}.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Forgets the bytes after the given size, e.g. the incomplete part of a
+     * {@link Json}, whose serialization failed.
+     *
+     * @param newSize the number of bytes, which are kept.
+     * @throws IllegalArgumentException if newSize is negative or larger than
+     *                                  {@link JsonByteArrayOutput#size()}.
+     */
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IllegalArgumentException(
+                    "Can't truncate " + size + " bytes to " + newSize + " bytes");
+        }
+        size = newSize;
+    }
+
+    /**
+     * @return the number of written bytes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the internal byte-array without copying it. Only the first
+     * {@link JsonByteArrayOutput#size()} bytes are valid.
+     *
+     * @return the internal byte-array.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return a copy of the written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Writes all written bytes to the given {@link OutputStream}.
+     *
+     * @param out an {@link OutputStream}.
+     * @throws IOException if the {@link OutputStream} fails.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+}
@@ -0,0 +1,62 @@
+package de.leunosam.json.serialize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import de.leunosam.json.Json;
+
+/**
+ * A {@link JsonUtf8Output}, which writes into a given {@link ByteBuffer},
+ * starting at its position. Direct {@link ByteBuffer}s are supported as well,
+ * so a {@link Json} can be serialized straight into a network buffer. The
+ * {@link ByteBuffer} does not grow, if it is full, the serialization fails.
+ * Then its position is reset to where this output started, so the
+ * {@link ByteBuffer} never contains a partial Json. Use a new output for every
+ * Json, if the previous ones must be kept.
+ *
+ * @author LeunoSam
+ */
+public class JsonByteBufferOutput extends JsonUtf8Output {
+
+    private final ByteBuffer buffer;
+    // the position of the buffer, when this output was created
+    private final int start;
+
+    /**
+     * @param buffer the {@link ByteBuffer}, which receives the Json.
+     */
+    public JsonByteBufferOutput(ByteBuffer buffer) {
+        super();
+        this.buffer = buffer;
+        this.start = buffer.position();
+    }
+
+    @Override
+    protected void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            throw full();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    protected void write(byte[] bytes, int offset, int length) throws IOException {
+        if (buffer.remaining() < length) {
+            throw full();
+        }
+        buffer.put(bytes, offset, length);
+    }
+
+    private IOException full() {
+        buffer.position(start);
+        return new IOException("The ByteBuffer is full!");
+    }
+
+    /**
+     * @return the {@link ByteBuffer}, which receives the Json.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+}
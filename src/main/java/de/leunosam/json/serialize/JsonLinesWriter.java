@@ -0,0 +1,117 @@
+package de.leunosam.json.serialize;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.leunosam.json.Json;
+
+/**
+ * Writes newline-delimited Jsons (NDJSON, JSON Lines), one {@link Json} per
+ * line. Every {@link Json} is serialized directly into UTF-8 bytes by a
+ * {@link JsonByteArrayOutput}, which is written to the {@link OutputStream},
+ * when it exceeds the buffer size. So the memory stays the same for files of
+ * any size. Don't forget to close or flush the JsonLinesWriter, the last bytes
+ * are buffered. A JsonLinesWriter is not thread-safe.
+ *
+ * @author LeunoSam
+ */
+public class JsonLinesWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final int bufferSize;
+    private final JsonByteArrayOutput buffer;
+
+    /**
+     * Creates a new JsonLinesWriter with a buffer of 64 KiB.
+     *
+     * @param out an {@link OutputStream}, which receives the UTF-8 bytes.
+     */
+    public JsonLinesWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new JsonLinesWriter.
+     *
+     * @param out        an {@link OutputStream}, which receives the UTF-8 bytes.
+     * @param bufferSize the number of bytes, which are collected before they are
+     *                   written. A single larger line is written at once.
+     */
+    public JsonLinesWriter(OutputStream out, int bufferSize) {
+        super();
+        this.out = out;
+        this.bufferSize = bufferSize;
+        this.buffer = new JsonByteArrayOutput(Math.max(bufferSize, 16));
+    }
+
+    /**
+     * Creates or overwrites the given file.
+     *
+     * @param path the path of the file.
+     * @return a new JsonLinesWriter, which has to be closed.
+     * @throws IOException if the file can't be opened.
+     */
+    public static JsonLinesWriter open(Path path) throws IOException {
+        return new JsonLinesWriter(Files.newOutputStream(path));
+    }
+
+    /**
+     * Serializes the given {@link Json} as one line.
+     *
+     * @param json a {@link Json}, null is written as null.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if the serialization fails, nothing of
+     *                                    the line is written then.
+     */
+    public void write(Json json) throws IOException {
+        if (json == null) {
+            buffer.append("null");
+        } else {
+            int lineStart = buffer.size();
+            try {
+                json.serialize(buffer);
+            } catch (RuntimeException e) {
+                // the next line must not start after an incomplete Json
+                buffer.truncate(lineStart);
+                throw e;
+            }
+        }
+        buffer.append('\n');
+        if (buffer.size() >= bufferSize) {
+            writeBuffer();
+        }
+    }
+
+    /**
+     * Writes all buffered lines and flushes the {@link OutputStream}.
+     */
+    @Override
+    public void flush() throws IOException {
+        writeBuffer();
+        out.flush();
+    }
+
+    /**
+     * Writes all buffered lines and closes the {@link OutputStream}.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.writeTo(out);
+        buffer.reset();
+    }
+
+}
@@ -32,26 +32,39 @@ public class JsonPrettifier {
      * @return the prettified Json.
      */
     public String prettify(String json) {
-        StringBuilder builder = new StringBuilder();
-        for (char c : json.toCharArray()) {
+        StringBuilder builder = new StringBuilder(json.length() * 2);
+        int length = json.length();
+        int i = 0;
+        while (i < length) {
+            if (isString) {
+                // the content of a String is copied at once
+                int quote = json.indexOf('"', i);
+                int stop = quote < 0 ? length : quote + 1;
+                builder.append(json, i, stop);
+                isString = quote < 0;
+                i = stop;
+                continue;
+            }
+            char c = json.charAt(i++);
+            if (c == ']' || c == '}') {
+                builder.append('\n');
+                tabLevel--;
+                appendTabs(builder);
+                builder.append(c);
+                continue;
+            }
             builder.append(c);
             if (c == '"') {
-                isString = !isString;
-            } else if (c == ':' && !isString) {
+                isString = true;
+            } else if (c == ':') {
                 builder.append('\s');
-            } else if (c == ',' && !isString) {
+            } else if (c == ',') {
                 builder.append('\n');
-                builder.append(getCurrentTabLevel());
-            } else if ((c == '[' || c == '{') && !isString) {
+                appendTabs(builder);
+            } else if (c == '[' || c == '{') {
                 builder.append('\n');
                 tabLevel++;
-                builder.append(getCurrentTabLevel());
-            } else if ((c == ']' || c == '}') && !isString) {
-                builder.deleteCharAt(builder.length() - 1);
-                builder.append('\n');
-                tabLevel--;
-                builder.append(getCurrentTabLevel());
-                builder.append(c);
+                appendTabs(builder);
             }
         }
         // if the json was not verified tabLevel != 0 --> reset!
@@ -59,12 +72,10 @@ public class JsonPrettifier {
         return builder.toString();
     }
 
-    private String getCurrentTabLevel() {
-        StringBuilder builder = new StringBuilder();
+    private void appendTabs(StringBuilder builder) {
         for (int i = 0; i < tabLevel; i++) {
             builder.append(JsonConstants.TAB);
         }
-        return builder.toString();
     }
 
 }
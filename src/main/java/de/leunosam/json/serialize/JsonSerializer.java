@@ -1,102 +1,365 @@
 package de.leunosam.json.serialize;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import de.leunosam.json.Json;
 import de.leunosam.json.util.JsonConstants;
-import de.leunosam.json.util.StringMapping;
+import de.leunosam.json.util.JsonNumbers;
 
 /**
- * This class is used to serialize {@link Json}s. Use
+ * This class is used to serialize {@link Json}s. The registered Fields are
+ * written directly to an {@link Appendable}, nested {@link Json}s included, so
+ * no intermediate {@link String}s are created. Use
  * {@link JsonSerializer#toString()} to get the String representation of the
- * registered Fields.
- * 
+ * registered Fields or {@link JsonSerializer#finish()} to close the Json, if
+ * you write to your own {@link Appendable}.
+ *
  * @author LeunoSam
  */
 public class JsonSerializer {
 
-    private List<String> fields = new LinkedList<>();
+    // smaller Lists are always serialized by the calling thread
+    private static final int PARALLEL_THRESHOLD = 1024;
+    private static final int MIN_CHUNK_SIZE = 256;
 
+    private final Appendable out;
+    private boolean isEmpty = true;
+    private boolean isFinished = false;
+    // the chars of the last number, if the output has no own method for it
+    private byte[] digits;
+    private CharBuffer digitChars;
+
+    /**
+     * Creates a new JsonSerializer, which writes into a {@link StringBuilder}.
+     */
     public JsonSerializer() {
+        this(new StringBuilder());
+    }
+
+    /**
+     * Creates a new JsonSerializer, which writes directly to the given
+     * {@link Appendable}, e.g. a {@link java.io.Writer}.
+     *
+     * @param out the {@link Appendable}, which receives the Json.
+     */
+    public JsonSerializer(Appendable out) {
         super();
+        this.out = out;
     }
 
     public void addBooleanField(String fieldName, Boolean b) {
-        fields.add("\"" + fieldName + "\":" + b);
+        addField(fieldName, () -> out.append(String.valueOf(b)));
     }
 
     public void addIntegerField(String fieldName, Integer i) {
-        fields.add("\"" + fieldName + "\":" + i);
+        addField(fieldName, () -> appendLong(i));
     }
 
     public void addLongField(String fieldName, Long l) {
-        fields.add("\"" + fieldName + "\":" + l);
+        addField(fieldName, () -> appendLong(l));
     }
 
     public void addDoubleField(String fieldName, Double d) {
-        fields.add("\"" + fieldName + "\":" + d);
+        addField(fieldName, () -> appendDouble(d));
     }
 
     public void addStringField(String fieldName, String s) {
-        fields.add("\"" + fieldName + "\":\"" + s + "\"");
+        addField(fieldName, () -> appendString(s));
     }
 
     public void addObjectField(String fieldName, Json json) {
-        fields.add("\"" + fieldName + "\":" + json.serialize());
+        addField(fieldName, () -> appendObject(json));
     }
 
     public void addBooleanArrayField(String fieldName, List<Boolean> list) {
-        addArrayField(fieldName, list, b -> b.toString());
+        addArrayField(fieldName, list, b -> out.append(String.valueOf(b)));
     }
 
     public void addIntegerArrayField(String fieldName, List<Integer> list) {
-        addArrayField(fieldName, list, i -> i.toString());
+        addArrayField(fieldName, list, this::appendLong);
     }
 
     public void addLongArrayField(String fieldName, List<Long> list) {
-        addArrayField(fieldName, list, l -> l.toString());
+        addArrayField(fieldName, list, this::appendLong);
     }
 
     public void addDoubleArrayField(String fieldName, List<Double> list) {
-        addArrayField(fieldName, list, d -> d.toString());
+        addArrayField(fieldName, list, this::appendDouble);
     }
 
     public void addStringArrayField(String fieldName, List<String> list) {
-        addArrayField(fieldName, list, string -> "\"" + string + "\"");
+        addArrayField(fieldName, list, this::appendString);
     }
 
-    public void addObjectArrayField(String fieldName, List<Json> list) {
-        addArrayField(fieldName, list, json -> json.serialize());
+    public void addObjectArrayField(String fieldName, List<? extends Json> list) {
+        addArrayField(fieldName, list, this::appendObject);
     }
 
-    private <T> void addArrayField(String fieldName, List<T> list, StringMapping<T> mapping) {
-        StringBuilder newField = new StringBuilder();
-        newField.append("\"" + fieldName + "\":[");
-        if (!list.isEmpty()) {
-            for (int i = 0; i < list.size() - 1; i++) {
-                newField.append(mapping.map(list.get(i)) + ",");
+    /**
+     * Adds a {@link List} of {@link Json}s like
+     * {@link JsonSerializer#addObjectArrayField(String, List)}, but large Lists
+     * are serialized on several threads: chunks of elements are written into
+     * separate buffers by a {@link ForkJoinPool}, the common pool or the pool of
+     * the calling task, and then appended in their order. So the result is
+     * identical to the serial one, the buffers just need additional memory. The
+     * elements must not be changed meanwhile.
+     *
+     * @param fieldName the name of the field.
+     * @param list      a {@link List} of {@link Json}s.
+     */
+    public void addObjectArrayFieldParallel(String fieldName, List<? extends Json> list) {
+        ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool()
+                : ForkJoinPool.commonPool();
+        if (list.size() < PARALLEL_THRESHOLD || pool.getParallelism() < 2) {
+            addObjectArrayField(fieldName, list);
+            return;
+        }
+        // about 4 chunks per thread, so busy threads can be helped by others
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, list.size() / (4 * pool.getParallelism()));
+        addField(fieldName, () -> {
+            List<ForkJoinTask<Appendable>> chunks = new ArrayList<>();
+            for (int start = 0; start < list.size(); start += chunkSize) {
+                List<? extends Json> chunk = list.subList(start,
+                        Math.min(start + chunkSize, list.size()));
+                chunks.add(ForkJoinTask.adapt(() -> serializeChunk(chunk)));
+            }
+            ForkJoinTask.invokeAll(chunks);
+            out.append('[');
+            for (int i = 0; i < chunks.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendChunk(chunks.get(i).join());
             }
-            newField.append(mapping.map(list.get(list.size() - 1)));
+            out.append(']');
+        });
+    }
+
+    /**
+     * Serializes the elements into a buffer, which matches the output: UTF-8
+     * bytes for a {@link JsonUtf8Output}, otherwise chars.
+     */
+    private Appendable serializeChunk(List<? extends Json> chunk) throws IOException {
+        Appendable buffer = out instanceof JsonUtf8Output ? new JsonByteArrayOutput(8192)
+                : new StringBuilder(8192);
+        JsonSerializer serializer = new JsonSerializer(buffer);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            serializer.appendObject(chunk.get(i));
         }
-        newField.append(']');
-        fields.add(newField.toString());
+        return buffer;
+    }
+
+    private void appendChunk(Appendable chunk) throws IOException {
+        if (chunk instanceof JsonByteArrayOutput bytes) {
+            ((JsonUtf8Output) out).write(bytes.getBuffer(), 0, bytes.size());
+        } else {
+            out.append((StringBuilder) chunk);
+        }
+    }
+
+    public void addBooleanArrayField(String fieldName, boolean[] array) {
+        addField(fieldName, () -> {
+            out.append('[');
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(String.valueOf(array[i]));
+            }
+            out.append(']');
+        });
+    }
+
+    public void addIntArrayField(String fieldName, int[] array) {
+        addField(fieldName, () -> {
+            out.append('[');
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendLong(array[i]);
+            }
+            out.append(']');
+        });
+    }
+
+    public void addLongArrayField(String fieldName, long[] array) {
+        addField(fieldName, () -> {
+            out.append('[');
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendLong(array[i]);
+            }
+            out.append(']');
+        });
+    }
+
+    public void addDoubleArrayField(String fieldName, double[] array) {
+        addField(fieldName, () -> {
+            out.append('[');
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendDouble(array[i]);
+            }
+            out.append(']');
+        });
+    }
+
+    private <T> void addArrayField(String fieldName, List<T> list, ElementWriter<T> writer) {
+        addField(fieldName, () -> {
+            out.append('[');
+            boolean isFirst = true;
+            for (T element : list) {
+                if (!isFirst) {
+                    out.append(',');
+                }
+                writer.write(element);
+                isFirst = false;
+            }
+            out.append(']');
+        });
     }
 
     public void addNullField(String fieldName) {
-        fields.add("\"" + fieldName + "\":" + JsonConstants.JSON_NULL);
+        addField(fieldName, () -> out.append(JsonConstants.JSON_NULL));
+    }
+
+    /**
+     * Closes the Json. Afterwards no more fields can be added.
+     *
+     * @throws JsonSerializationException if the {@link Appendable} fails.
+     */
+    public void finish() {
+        if (isFinished) {
+            return;
+        }
+        try {
+            out.append(isEmpty ? "{}" : "}");
+        } catch (IOException e) {
+            throw new JsonSerializationException(e);
+        }
+        isFinished = true;
+    }
+
+    private void addField(String fieldName, ValueWriter value) {
+        if (isFinished) {
+            throw new JsonSerializationException("The Json is already finished!");
+        }
+        try {
+            out.append(isEmpty ? '{' : ',').append('\"').append(fieldName).append("\":");
+            isEmpty = false;
+            value.write();
+        } catch (IOException e) {
+            throw new JsonSerializationException(e);
+        }
     }
 
+    private void appendLong(Number number) throws IOException {
+        if (number == null) {
+            out.append(JsonConstants.JSON_NULL);
+        } else {
+            appendLong(number.longValue());
+        }
+    }
+
+    private void appendLong(long l) throws IOException {
+        // StringBuilder and JsonUtf8Output write the digits without a temporary String
+        if (out instanceof StringBuilder builder) {
+            builder.append(l);
+        } else if (out instanceof JsonUtf8Output utf8) {
+            utf8.appendLong(l);
+        } else {
+            appendDigits(JsonNumbers.writeLong(l, digits(), 0));
+        }
+    }
+
+    private void appendDouble(Double d) throws IOException {
+        if (d == null) {
+            out.append(JsonConstants.JSON_NULL);
+        } else {
+            appendDouble(d.doubleValue());
+        }
+    }
+
+    private void appendDouble(double d) throws IOException {
+        // every output gets the same shortest digits
+        if (out instanceof JsonUtf8Output utf8) {
+            utf8.appendDouble(d);
+        } else {
+            appendDigits(JsonNumbers.writeDouble(d, digits(), 0));
+        }
+    }
+
+    private byte[] digits() {
+        if (digits == null) {
+            digits = new byte[JsonNumbers.MAX_LENGTH];
+            digitChars = CharBuffer.allocate(JsonNumbers.MAX_LENGTH);
+        }
+        return digits;
+    }
+
+    private void appendDigits(int length) throws IOException {
+        // one call instead of one per char, e.g. a Writer synchronizes every call
+        char[] chars = digitChars.array();
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) digits[i];
+        }
+        if (out instanceof Writer writer) {
+            // Writer.append of a range copies it into a String first
+            writer.write(chars, 0, length);
+        } else {
+            out.append(digitChars, 0, length);
+        }
+    }
+
+    private void appendString(String s) throws IOException {
+        if (s == null) {
+            out.append(JsonConstants.JSON_NULL);
+        } else {
+            out.append('\"').append(s).append('\"');
+        }
+    }
+
+    private void appendObject(Json json) throws IOException {
+        if (json == null) {
+            out.append(JsonConstants.JSON_NULL);
+        } else {
+            json.serialize(out);
+        }
+    }
+
+    /**
+     * Finishes the Json and returns the content of the {@link Appendable}.
+     */
     @Override
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-        builder.append('{');
-        for (int i = 0; i < fields.size() - 1; i++) {
-            builder.append(fields.get(i) + ",");
-        }
-        builder.append(fields.get(fields.size() - 1));
-        builder.append('}');
-        return builder.toString();
+        finish();
+        return out.toString();
+    }
+
+    private interface ValueWriter {
+
+        void write() throws IOException;
+
+    }
+
+    private interface ElementWriter<T> {
+
+        void write(T element) throws IOException;
+
     }
 
 }
@@ -0,0 +1,135 @@
+package de.leunosam.json.serialize;
+
+import java.io.IOException;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonNumbers;
+
+/**
+ * This {@link Appendable} encodes the serialized {@link Json} directly into
+ * UTF-8 bytes, so the Json never has to be converted from a {@link String}.
+ * ASCII-chars, e.g. all field-names of a typical {@link Json}, and numbers are
+ * written without any intermediate objects. Use it as target of
+ * {@link Json#serialize(Appendable)}.
+ *
+ * @author LeunoSam
+ */
+public abstract class JsonUtf8Output implements Appendable {
+
+    // the chars of the last number
+    private final byte[] digits = new byte[JsonNumbers.MAX_LENGTH];
+    // the high surrogate of the last char, if its low surrogate is missing
+    private char highSurrogate = 0;
+
+    protected JsonUtf8Output() {
+        super();
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param b the byte to write.
+     * @throws IOException if the byte does not fit into the output.
+     */
+    protected abstract void write(int b) throws IOException;
+
+    /**
+     * Writes the given bytes. Override this method, if the output can copy
+     * ranges faster than single bytes.
+     *
+     * @param bytes  the bytes to write.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @throws IOException if the bytes do not fit into the output.
+     */
+    protected void write(byte[] bytes, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            write(bytes[i]);
+        }
+    }
+
+    @Override
+    public JsonUtf8Output append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public JsonUtf8Output append(CharSequence csq, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public JsonUtf8Output append(char c) throws IOException {
+        if (c < 0x80 && highSurrogate == 0) {
+            write(c);
+        } else {
+            appendNonAscii(c);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the digits of the given number without creating a {@link String}.
+     *
+     * @param l the number to write.
+     * @throws IOException if the output fails.
+     */
+    public void appendLong(long l) throws IOException {
+        write(digits, 0, JsonNumbers.writeLong(l, digits, 0));
+    }
+
+    /**
+     * Writes the given number like {@link Double#toString(double)}, but with the
+     * shortest digits and without creating a {@link String}, see
+     * {@link JsonNumbers#writeDouble(double, byte[], int)}.
+     *
+     * @param d the number to write.
+     * @throws IOException if the output fails.
+     */
+    public void appendDouble(double d) throws IOException {
+        write(digits, 0, JsonNumbers.writeDouble(d, digits, 0));
+    }
+
+    /**
+     * @return true if the last char was a high surrogate, which is waiting for
+     *         its low surrogate.
+     */
+    protected boolean hasHighSurrogate() {
+        return highSurrogate != 0;
+    }
+
+    protected void appendNonAscii(char c) throws IOException {
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                write(0xF0 | (codePoint >> 18));
+                write(0x80 | ((codePoint >> 12) & 0x3F));
+                write(0x80 | ((codePoint >> 6) & 0x3F));
+                write(0x80 | (codePoint & 0x3F));
+                return;
+            }
+            // a single surrogate can't be encoded, like String#getBytes
+            write('?');
+        }
+        if (c < 0x80) {
+            write(c);
+        } else if (c < 0x800) {
+            write(0xC0 | (c >> 6));
+            write(0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            write('?');
+        } else {
+            write(0xE0 | (c >> 12));
+            write(0x80 | ((c >> 6) & 0x3F));
+            write(0x80 | (c & 0x3F));
+        }
+    }
+
+}
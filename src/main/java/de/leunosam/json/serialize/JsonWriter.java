@@ -0,0 +1,284 @@
+package de.leunosam.json.serialize;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonConstants;
+
+/**
+ * Writes a Json token by token as UTF-8 bytes to an {@link OutputStream}, the
+ * counterpart of the {@link de.leunosam.json.deserialize.JsonReader}, e.g.:<br>
+ * writer.beginObject();<br>
+ * writer.name("count").value(orders.size());<br>
+ * writer.name("orders").beginArray();<br>
+ * for (Order order : orders) {<br>
+ * &emsp;writer.value(order);<br>
+ * }<br>
+ * writer.endArray();<br>
+ * writer.endObject();<br>
+ * The bytes are collected by a {@link JsonByteArrayOutput}, which is written to
+ * the {@link OutputStream}, when it exceeds the buffer size. So a huge array
+ * can be written without building its elements at once, the memory only
+ * depends on the largest single value. {@link Json}s are serialized directly
+ * into the buffer. Commas and colons are added automatically. Don't forget to
+ * close or flush the JsonWriter, the last bytes are buffered. A JsonWriter is
+ * not thread-safe.
+ *
+ * @author LeunoSam
+ */
+public class JsonWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // the states of the open objects and arrays
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    // a name is written, the value follows
+    private static final int DANGLING_NAME = 6;
+
+    private final OutputStream out;
+    private final int bufferSize;
+    private final JsonByteArrayOutput buffer;
+    private int[] stack = new int[16];
+    private int depth = 1;
+
+    /**
+     * Creates a new JsonWriter with a buffer of 64 KiB.
+     *
+     * @param out an {@link OutputStream}, which receives the UTF-8 bytes.
+     */
+    public JsonWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new JsonWriter.
+     *
+     * @param out        an {@link OutputStream}, which receives the UTF-8 bytes.
+     * @param bufferSize the number of bytes, which are collected before they are
+     *                   written. A single larger {@link Json} is written at once.
+     */
+    public JsonWriter(OutputStream out, int bufferSize) {
+        super();
+        this.out = out;
+        this.bufferSize = bufferSize;
+        this.buffer = new JsonByteArrayOutput(Math.max(bufferSize, 16));
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Writes the start of an object, its fields follow as
+     * {@link JsonWriter#name(String)} and a value.
+     *
+     * @return this JsonWriter.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if no value is allowed here.
+     */
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        push(EMPTY_OBJECT);
+        buffer.append('{');
+        return this;
+    }
+
+    /**
+     * Writes the end of the current object.
+     *
+     * @return this JsonWriter.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if no object is open or a value is
+     *                                    missing.
+     */
+    public JsonWriter endObject() throws IOException {
+        return end(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    /**
+     * Writes the start of an array, its elements follow as values.
+     *
+     * @return this JsonWriter.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if no value is allowed here.
+     */
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        push(EMPTY_ARRAY);
+        buffer.append('[');
+        return this;
+    }
+
+    /**
+     * Writes the end of the current array.
+     *
+     * @return this JsonWriter.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if no array is open.
+     */
+    public JsonWriter endArray() throws IOException {
+        return end(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    /**
+     * Writes the name of the next field. Like the rest of this library, the name
+     * is not escaped.
+     *
+     * @param name the name of the field.
+     * @return this JsonWriter.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if no object is open or its last name
+     *                                    has no value.
+     */
+    public JsonWriter name(String name) throws IOException {
+        int scope = stack[depth - 1];
+        if (scope != EMPTY_OBJECT && scope != NONEMPTY_OBJECT) {
+            throw new JsonSerializationException("A name is only allowed in an object");
+        }
+        if (scope == NONEMPTY_OBJECT) {
+            buffer.append(',');
+        }
+        stack[depth - 1] = DANGLING_NAME;
+        buffer.append('\"').append(name).append("\":");
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        buffer.appendLong(value);
+        return afterValue();
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        beforeValue();
+        buffer.appendDouble(value);
+        return afterValue();
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        buffer.append(Boolean.toString(value));
+        return afterValue();
+    }
+
+    /**
+     * Writes a String-value. Like the rest of this library, the String is not
+     * escaped.
+     *
+     * @param value the value, may be null.
+     * @return this JsonWriter.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if no value is allowed here.
+     */
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        buffer.append('\"').append(value).append('\"');
+        return afterValue();
+    }
+
+    /**
+     * Serializes the given {@link Json} directly into the buffer, see
+     * {@link Json#serialize(Appendable)}.
+     *
+     * @param value the {@link Json}, may be null.
+     * @return this JsonWriter.
+     * @throws IOException                if the {@link OutputStream} fails.
+     * @throws JsonSerializationException if no value is allowed here or the
+     *                                    serialization fails.
+     */
+    public JsonWriter value(Json value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        value.serialize(buffer);
+        return afterValue();
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        buffer.append(JsonConstants.JSON_NULL);
+        return afterValue();
+    }
+
+    /**
+     * Writes all buffered bytes and flushes the {@link OutputStream}.
+     */
+    @Override
+    public void flush() throws IOException {
+        writeBuffer();
+        out.flush();
+    }
+
+    /**
+     * Writes all buffered bytes and closes the {@link OutputStream}.
+     *
+     * @throws JsonSerializationException if the Json is incomplete, the
+     *                                    {@link OutputStream} is closed anyway.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeBuffer();
+        } finally {
+            out.close();
+        }
+        if (depth > 1 || stack[0] != NONEMPTY_DOCUMENT) {
+            throw new JsonSerializationException("The Json is incomplete");
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        int scope = stack[depth - 1];
+        switch (scope) {
+        case EMPTY_DOCUMENT -> stack[depth - 1] = NONEMPTY_DOCUMENT;
+        case NONEMPTY_DOCUMENT -> throw new JsonSerializationException(
+                "The Json is already complete");
+        case EMPTY_ARRAY -> stack[depth - 1] = NONEMPTY_ARRAY;
+        case NONEMPTY_ARRAY -> buffer.append(',');
+        case DANGLING_NAME -> stack[depth - 1] = NONEMPTY_OBJECT;
+        default -> throw new JsonSerializationException("A value in an object needs a name");
+        }
+    }
+
+    private JsonWriter afterValue() throws IOException {
+        if (buffer.size() >= bufferSize) {
+            writeBuffer();
+        }
+        return this;
+    }
+
+    private JsonWriter end(int empty, int nonempty, char c) throws IOException {
+        int scope = stack[depth - 1];
+        if (scope != empty && scope != nonempty) {
+            throw new JsonSerializationException(scope == DANGLING_NAME
+                    ? "The last name has no value"
+                    : "Unexpected '" + c + "'");
+        }
+        depth--;
+        buffer.append(c);
+        return afterValue();
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.writeTo(out);
+        buffer.reset();
+    }
+
+}
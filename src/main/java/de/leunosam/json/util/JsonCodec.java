@@ -0,0 +1,32 @@
+package de.leunosam.json.util;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.deserialize.JsonDeserializer;
+import de.leunosam.json.serialize.JsonSerializer;
+
+/**
+ * A JsonCodec serializes and deserializes one {@link Json}-Class without
+ * reflections. JsonCodecs are generated by the
+ * {@link de.leunosam.json.processor.JsonCodecProcessor} during the compilation
+ * and are found by {@link JsonCodecs}.
+ * 
+ * @param <O> the {@link Json}-Class
+ * @author LeunoSam
+ */
+public interface JsonCodec<O extends Json> {
+
+    /**
+     * Adds all {@link JsonField}s of the given {@link Json} to the serializer.
+     * 
+     * @param json       the {@link Json}, which is serialized.
+     * @param serializer the {@link JsonSerializer}, which receives the fields.
+     */
+    void serialize(O json, JsonSerializer serializer);
+
+    /**
+     * @return a {@link JsonDeserializer}, which reads the {@link JsonField}s
+     *         directly from the tokens.
+     */
+    JsonDeserializer<O> getDeserializer();
+
+}
@@ -0,0 +1,61 @@
+package de.leunosam.json.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+import de.leunosam.json.Json;
+
+/**
+ * This is a multiton, which finds the generated {@link JsonCodec} of a
+ * {@link Json}-Class. The codec of the class my.pkg.Outer$MyJson is called
+ * my.pkg.Outer$MyJson_JsonCodec, so it can't collide with the codec of a class
+ * my.pkg.Outer_MyJson. The lookup is done once per class.
+ * 
+ * @author LeunoSam
+ */
+public class JsonCodecs {
+
+    public static final String SUFFIX = "_JsonCodec";
+
+    private static final ClassValue<Optional<JsonCodec<?>>> CODECS = new ClassValue<>() {
+
+        @Override
+        protected Optional<JsonCodec<?>> computeValue(Class<?> jsonClass) {
+            return Optional.ofNullable(loadCodec(jsonClass));
+        }
+    };
+
+    private JsonCodecs() {
+        // hide
+    }
+
+    private static JsonCodec<?> loadCodec(Class<?> jsonClass) {
+        String codecName = jsonClass.getName() + SUFFIX;
+        try {
+            Class<?> codecClass = Class.forName(codecName, true, jsonClass.getClassLoader());
+            if (!JsonCodec.class.isAssignableFrom(codecClass)) {
+                return null;
+            }
+            return (JsonCodec<?>) codecClass.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // no codec was generated, e.g. because of private fields
+            return null;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException
+                | NoSuchMethodException e) {
+            throw new IllegalStateException("The JsonCodec " + codecName + " is broken!", e);
+        }
+    }
+
+    /**
+     * Get the generated {@link JsonCodec} of the given {@link Json}-Class.
+     * 
+     * @param <O>       the {@link Json}-Class
+     * @param jsonClass a {@link Class}
+     * @return the {@link JsonCodec} or null, if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public static <O extends Json> JsonCodec<O> getCodec(Class<O> jsonClass) {
+        return (JsonCodec<O>) CODECS.get(jsonClass).orElse(null);
+    }
+
+}
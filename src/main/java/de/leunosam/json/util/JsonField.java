@@ -6,8 +6,10 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.text.Annotation;
+import java.util.List;
 
 import de.leunosam.json.Json;
+import de.leunosam.json.serialize.JsonSerializer;
 
 /**
  * Add this {@link Annotation} to {@link Field}s of a {@link Json}-Class, which
@@ -23,4 +25,11 @@ public @interface JsonField {
 
     String value() default "";
 
+    /**
+     * Only for Lists of {@link Json}s: large Lists are serialized on several
+     * threads, see {@link JsonSerializer#addObjectArrayFieldParallel(String, List)}.
+     * The result is identical to the serial one.
+     */
+    boolean parallel() default false;
+
 }
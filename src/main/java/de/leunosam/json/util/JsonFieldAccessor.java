@@ -0,0 +1,227 @@
+package de.leunosam.json.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import de.leunosam.json.Json;
+
+/**
+ * Reads and writes a single {@link JsonField} of a {@link Json} through
+ * {@link MethodHandle}s, which are created once. It also contains the resolved
+ * Json-name and the {@link JsonFieldKind} of the field, so nothing has to be
+ * determined during the serialization.
+ * 
+ * @author LeunoSam
+ */
+public class JsonFieldAccessor {
+
+    // (Object)Object and (Object,Object)void, so they can be invoked exactly
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+            Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+            Object.class, Object.class);
+
+    private final Field field;
+    private final String jsonName;
+    private final JsonFieldKind kind;
+    private final JsonFieldKind elementKind;
+    private final Class<?> elementType;
+    private final boolean parallel;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    // (Object,boolean|int|long|double)void for primitive fields, otherwise null
+    private final MethodHandle primitiveSetter;
+
+    /**
+     * Creates a new accessor for the given {@link Field}. This is done by
+     * {@link JsonFields}, use {@link JsonFields#getAccessors(Class)}.
+     * 
+     * @param field a {@link Field} annotated with {@link JsonField}.
+     * @throws IllegalAccessException if the {@link Field} can't be accessed.
+     */
+    JsonFieldAccessor(Field field) throws IllegalAccessException {
+        super();
+        field.setAccessible(true);
+        this.field = field;
+        this.jsonName = determineJsonName(field);
+        this.parallel = field.getAnnotation(JsonField.class).parallel();
+        if (List.class.isAssignableFrom(field.getType())) {
+            this.kind = JsonFieldKind.LIST;
+            this.elementType = determineElementType(field);
+            this.elementKind = elementType == null ? JsonFieldKind.UNKNOWN
+                    : JsonFieldKind.of(elementType);
+        } else {
+            this.kind = JsonFieldKind.of(field.getType());
+            this.elementKind = null;
+            this.elementType = null;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        this.primitiveSetter = field.getType().isPrimitive()
+                ? lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, field.getType()))
+                : null;
+    }
+
+    private static String determineJsonName(Field field) {
+        String fieldName = field.getAnnotation(JsonField.class).value();
+        if (fieldName.isBlank()) {
+            fieldName = field.getName();
+        }
+        return fieldName;
+    }
+
+    private static Class<?> determineElementType(Field field) {
+        if (field.getGenericType() instanceof ParameterizedType listType) {
+            Type elementType = listType.getActualTypeArguments()[0];
+            if (elementType instanceof Class<?> elementClass) {
+                return elementClass;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param json the {@link Json}, which contains the field.
+     * @return the value of the field.
+     */
+    public Object get(Json json) {
+        try {
+            return (Object) getter.invokeExact((Object) json);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // can't happen, a getter throws no checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param json  the {@link Json}, which contains the field.
+     * @param value the new value of the field.
+     */
+    public void set(Json json, Object value) {
+        try {
+            setter.invokeExact((Object) json, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // can't happen, a setter throws no checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sets a boolean-field without boxing the value.
+     * 
+     * @param json  the {@link Json}, which contains the field.
+     * @param value the new value of the field.
+     */
+    public void setBoolean(Json json, boolean value) {
+        try {
+            primitiveSetter.invokeExact((Object) json, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // can't happen, a setter throws no checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sets an int-field without boxing the value.
+     * 
+     * @param json  the {@link Json}, which contains the field.
+     * @param value the new value of the field.
+     */
+    public void setInt(Json json, int value) {
+        try {
+            primitiveSetter.invokeExact((Object) json, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // can't happen, a setter throws no checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sets a long-field without boxing the value.
+     * 
+     * @param json  the {@link Json}, which contains the field.
+     * @param value the new value of the field.
+     */
+    public void setLong(Json json, long value) {
+        try {
+            primitiveSetter.invokeExact((Object) json, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // can't happen, a setter throws no checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sets a double-field without boxing the value.
+     * 
+     * @param json  the {@link Json}, which contains the field.
+     * @param value the new value of the field.
+     */
+    public void setDouble(Json json, double value) {
+        try {
+            primitiveSetter.invokeExact((Object) json, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // can't happen, a setter throws no checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return the name of the field in the Json-String.
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public JsonFieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the kind of the elements, if the field is a {@link List},
+     *         otherwise null.
+     */
+    public JsonFieldKind getElementKind() {
+        return elementKind;
+    }
+
+    /**
+     * @return the class of the elements, if the field is a {@link List} with a
+     *         concrete type argument, otherwise null.
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @return true if the field should be serialized on several threads, see
+     *         {@link JsonField#parallel()}.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+}
@@ -0,0 +1,81 @@
+package de.leunosam.json.util;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import de.leunosam.json.Json;
+
+/**
+ * The kinds of values a {@link JsonField} can have. The kind is resolved once
+ * from the declared type of the {@link Field}, so the serialization doesn't
+ * need to check the type of every value.
+ * 
+ * @author LeunoSam
+ */
+public enum JsonFieldKind {
+
+    BOOLEAN,
+    INTEGER,
+    LONG,
+    DOUBLE,
+    STRING,
+    /** a child of {@link Json} */
+    OBJECT,
+    /** a {@link List}, see {@link JsonFieldAccessor#getElementKind()} */
+    LIST,
+    BOOLEAN_ARRAY,
+    INT_ARRAY,
+    LONG_ARRAY,
+    DOUBLE_ARRAY,
+    /** the kind can only be determined by the value, e.g. for an Object-field */
+    UNKNOWN;
+
+    // e.g. the values of Object-fields, so the hierarchy of a class is checked once
+    private static final ClassValue<JsonFieldKind> KINDS = new ClassValue<>() {
+
+        @Override
+        protected JsonFieldKind computeValue(Class<?> clazz) {
+            return determine(clazz);
+        }
+    };
+
+    /**
+     * Determines the kind of the given {@link Class}, primitive types have the
+     * kind of their wrapper. {@link List}s are not
+     * resolved, because their kind depends on the generic type. The result is
+     * cached per {@link Class}.
+     * 
+     * @param clazz the type of a field or an element of a {@link List}.
+     * @return the kind of the {@link Class}, {@link JsonFieldKind#UNKNOWN} if it
+     *         is not supported.
+     */
+    public static JsonFieldKind of(Class<?> clazz) {
+        return KINDS.get(clazz);
+    }
+
+    private static JsonFieldKind determine(Class<?> clazz) {
+        if (clazz.equals(Boolean.class) || clazz.equals(boolean.class)) {
+            return BOOLEAN;
+        } else if (clazz.equals(Integer.class) || clazz.equals(int.class)) {
+            return INTEGER;
+        } else if (clazz.equals(Long.class) || clazz.equals(long.class)) {
+            return LONG;
+        } else if (clazz.equals(Double.class) || clazz.equals(double.class)) {
+            return DOUBLE;
+        } else if (clazz.equals(String.class)) {
+            return STRING;
+        } else if (Json.class.isAssignableFrom(clazz)) {
+            return OBJECT;
+        } else if (clazz.equals(boolean[].class)) {
+            return BOOLEAN_ARRAY;
+        } else if (clazz.equals(int[].class)) {
+            return INT_ARRAY;
+        } else if (clazz.equals(long[].class)) {
+            return LONG_ARRAY;
+        } else if (clazz.equals(double[].class)) {
+            return DOUBLE_ARRAY;
+        }
+        return UNKNOWN;
+    }
+
+}
@@ -1,49 +1,115 @@
 package de.leunosam.json.util;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import de.leunosam.json.Json;
 
 /**
  * This is a multiton, which determines and saves all {@link Field}s annotated
- * with {@link JsonField} of a {@link Json}-Class during the runtime.
+ * with {@link JsonField} of a {@link Json}-Class during the runtime. For every
+ * {@link Field} a {@link JsonFieldAccessor} is created once, which should be
+ * used to read or write the values. The {@link JsonField}s of super-classes
+ * are included, they come before the fields of the class itself. The cache is
+ * thread-safe and lock-free: the lists are cached per class and are published
+ * unmodifiable.
  * 
  * @author LeunoSam
  */
 public class JsonFields {
 
-    private static Map<Class<? extends Json>, List<Field>> fields = new HashMap<>();
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+
+        @Override
+        protected Layout computeValue(Class<?> jsonClass) {
+            return new Layout(jsonClass);
+        }
+    };
 
     private JsonFields() {
         // hide
     }
 
-    private static List<Field> addKeyValue(Class<? extends Json> jsonClass) {
-        List<Field> list = new LinkedList<>();
-        for (Field f : jsonClass.getDeclaredFields()) {
-            if (!f.isAnnotationPresent(JsonField.class)) {
-                continue;
-            }
-            f.setAccessible(true);
-            list.add(f);
-        }
-        fields.put(jsonClass, list);
-        return list;
-    }
-
     /**
      * Get the {@link Field}s of the given {@link Json}-Class, which are annotated
      * with {@link JsonField}.
      * 
      * @param jsonClass a {@link Class}
-     * @return a {@link List} of {@link Field}s, which will be set to accessible.
+     * @return an unmodifiable {@link List} of {@link Field}s, which will be set to
+     *         accessible.
      */
     public static List<Field> getJsonFields(Class<? extends Json> jsonClass) {
-        return fields.containsKey(jsonClass) ? fields.get(jsonClass) : addKeyValue(jsonClass);
+        return LAYOUTS.get(jsonClass).fields;
+    }
+
+    /**
+     * Get a {@link JsonFieldAccessor} for every {@link Field} of the given
+     * {@link Json}-Class, which is annotated with {@link JsonField}.
+     * 
+     * @param jsonClass a {@link Class}
+     * @return an unmodifiable {@link List} of {@link JsonFieldAccessor}s in the
+     *         order of the {@link Field}s.
+     */
+    public static List<JsonFieldAccessor> getAccessors(Class<? extends Json> jsonClass) {
+        return LAYOUTS.get(jsonClass).accessors;
+    }
+
+    /**
+     * The {@link JsonField}s of one class. All fields are final, so the lists are
+     * safely published to every thread.
+     */
+    private static class Layout {
+
+        private final List<JsonFieldAccessor> accessors;
+        private final List<Field> fields;
+
+        private Layout(Class<?> jsonClass) {
+            List<JsonFieldAccessor> accessorList = new ArrayList<>();
+            List<Field> fieldList = new ArrayList<>();
+            Class<?> superclass = jsonClass.getSuperclass();
+            if (superclass != null && !superclass.equals(Json.class)
+                    && Json.class.isAssignableFrom(superclass)) {
+                // the layout of the super-class is cached, too
+                Layout inherited = LAYOUTS.get(superclass);
+                accessorList.addAll(inherited.accessors);
+                fieldList.addAll(inherited.fields);
+            }
+            for (Field f : jsonClass.getDeclaredFields()) {
+                if (!f.isAnnotationPresent(JsonField.class)) {
+                    continue;
+                }
+                JsonFieldAccessor accessor;
+                try {
+                    accessor = new JsonFieldAccessor(f);
+                } catch (IllegalAccessException e) {
+                    // should never happen, the field is set to accessible
+                    throw new IllegalStateException(e);
+                }
+                int index = indexOf(accessorList, accessor.getJsonName());
+                if (index < 0) {
+                    accessorList.add(accessor);
+                    fieldList.add(f);
+                } else {
+                    // the field hides an inherited field with the same Json-name
+                    accessorList.set(index, accessor);
+                    fieldList.set(index, f);
+                }
+            }
+            this.accessors = Collections.unmodifiableList(accessorList);
+            this.fields = Collections.unmodifiableList(fieldList);
+        }
+
+        private static int indexOf(List<JsonFieldAccessor> accessors, String jsonName) {
+            for (int i = 0; i < accessors.size(); i++) {
+                if (accessors.get(i).getJsonName().equals(jsonName)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
     }
 
 }
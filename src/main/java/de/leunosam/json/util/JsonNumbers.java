@@ -0,0 +1,527 @@
+package de.leunosam.json.util;
+
+import java.math.BigInteger;
+
+/**
+ * Parses and formats numbers directly from and into ranges of chars and bytes,
+ * without creating {@link String}s.<br>
+ * Doubles are parsed by the algorithm of Eisel and Lemire: the significant
+ * digits are multiplied with a 128-bit approximation of the power of five,
+ * which is exact enough to round correctly. Only numbers with more than 19
+ * significant digits, which are close to the middle of two doubles, and
+ * special values like "NaN" fall back to {@link Double#parseDouble(String)}.
+ * <br>
+ * Doubles are formatted by the Schubfach-algorithm of Giulietti, which finds
+ * the shortest decimal, which is parsed back to the same double. The layout
+ * is the one of {@link Double#toString(double)}, e.g. "1.0", "0.001" or
+ * "1.0E7".
+ *
+ * @author LeunoSam
+ */
+public class JsonNumbers {
+
+    /**
+     * The maximum number of bytes, which are written by
+     * {@link JsonNumbers#writeDouble(double, byte[], int)} or
+     * {@link JsonNumbers#writeLong(long, byte[], int)}, e.g.
+     * "-2.2250738585072014E-308".
+     */
+    public static final int MAX_LENGTH = 24;
+
+    // all powers of ten, which are exact doubles
+    private static final double[] DOUBLE_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6,
+            1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21,
+            1e22 };
+    private static final long[] LONG_POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L,
+            100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L,
+            100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L };
+
+    private static final long MANTISSA_MASK = (1L << 52) - 1;
+    private static final long INFINITY_BITS = 0x7FFL << 52;
+    // a long holds 19 digits, an unsigned long 9999999999999999999, too
+    private static final int MAX_DIGITS = 19;
+
+    // smaller powers round to zero, larger ones to infinity
+    private static final int MIN_POWER_OF_FIVE = -342;
+    private static final int MAX_POWER_OF_FIVE = 308;
+    // two longs per power, the upper 64 bits first
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    // the exponent of the smallest subnormal double
+    private static final int Q_MIN = -1074;
+    // the hidden bit of normal doubles
+    private static final long C_MIN = 1L << 52;
+    // subnormals below this significand need one more digit
+    private static final long C_TINY = 3;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = 0x7FFF_FFFF_FFFF_FFFFL;
+    // two longs per power, 63 bits each, the upper ones first
+    private static final long[] POWERS_OF_TEN_126 = powersOfTen();
+
+    private JsonNumbers() {
+        // hide
+    }
+
+    /**
+     * Parses the given range like {@link Double#parseDouble(String)}, but
+     * without creating a {@link String} for Json-numbers.
+     *
+     * @param s     a {@link CharSequence}, which contains the number.
+     * @param start the index of the first char.
+     * @param end   the index after the last char.
+     * @return the nearest double.
+     * @throws NumberFormatException if the range is no number.
+     */
+    public static double parseDouble(CharSequence s, int start, int end) {
+        int i = start;
+        boolean isNegative = i < end && s.charAt(i) == '-';
+        if (isNegative) {
+            i++;
+        }
+        // the first 19 significant digits, the others are only checked for zero
+        long digits = 0;
+        int digitCount = 0;
+        int exponent = 0;
+        boolean isTruncated = false;
+        int integerStart = i;
+        for (char c; i < end && (c = s.charAt(i)) >= '0' && c <= '9'; i++) {
+            if (digitCount < MAX_DIGITS) {
+                digits = digits * 10 + (c - '0');
+                digitCount += digits == 0 ? 0 : 1;
+            } else {
+                exponent++;
+                isTruncated |= c != '0';
+            }
+        }
+        if (i == integerStart) {
+            return parseSlow(s, start, end);
+        }
+        if (i < end && s.charAt(i) == '.') {
+            int fractionStart = ++i;
+            for (char c; i < end && (c = s.charAt(i)) >= '0' && c <= '9'; i++) {
+                if (digitCount < MAX_DIGITS) {
+                    digits = digits * 10 + (c - '0');
+                    digitCount += digits == 0 ? 0 : 1;
+                    exponent--;
+                } else {
+                    isTruncated |= c != '0';
+                }
+            }
+            if (i == fractionStart) {
+                return parseSlow(s, start, end);
+            }
+        }
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            boolean isNegativeExponent = i < end && s.charAt(i) == '-';
+            if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                i++;
+            }
+            int explicitExponent = 0;
+            int exponentStart = i;
+            for (char c; i < end && (c = s.charAt(i)) >= '0' && c <= '9'; i++) {
+                // larger exponents are zero or infinity anyway
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + (c - '0');
+                }
+            }
+            if (i == exponentStart) {
+                return parseSlow(s, start, end);
+            }
+            exponent += isNegativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != end) {
+            // e.g. "Infinity" or a trailing "d"
+            return parseSlow(s, start, end);
+        }
+        double value;
+        if (digits == 0) {
+            value = 0.0;
+        } else if (!isTruncated && exponent >= -22 && exponent <= 22
+                && Long.compareUnsigned(digits, 1L << 53) <= 0) {
+            // the digits and the power of ten are exact, so a single operation
+            // is correctly rounded
+            value = digits;
+            if (exponent < 0) {
+                value /= DOUBLE_POWERS_OF_TEN[-exponent];
+            } else {
+                value *= DOUBLE_POWERS_OF_TEN[exponent];
+            }
+        } else {
+            long bits = eiselLemire(digits, exponent);
+            // the truncated digits lie between digits and digits + 1
+            if (isTruncated && bits != eiselLemire(digits + 1, exponent)) {
+                return parseSlow(s, start, end);
+            }
+            value = Double.longBitsToDouble(bits);
+        }
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * Writes the given number like {@link Double#toString(double)}, but always
+     * with the shortest digits, which are parsed back to the same double.
+     *
+     * @param d      the number to write.
+     * @param buffer receives the ASCII-chars, at least
+     *               {@link JsonNumbers#MAX_LENGTH} bytes after the offset.
+     * @param offset the index of the first byte.
+     * @return the index after the last written byte.
+     */
+    public static int writeDouble(double d, byte[] buffer, int offset) {
+        long bits = Double.doubleToRawLongBits(d);
+        long t = bits & MANTISSA_MASK;
+        int bq = (int) (bits >>> 52) & 0x7FF;
+        if (bq == 0x7FF) {
+            return writeAscii(t != 0 ? "NaN" : bits < 0 ? "-Infinity" : "Infinity", buffer,
+                    offset);
+        }
+        int position = offset;
+        if (bits < 0) {
+            buffer[position++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            // integers below 2^53 are written exactly
+            if (0 < mq && mq < 53) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return writeDecimal(f, 0, buffer, position);
+                }
+            }
+            return writeShortest(-mq, c, 0, buffer, position);
+        } else if (t != 0) {
+            // a subnormal double
+            return t < C_TINY
+                    ? writeShortest(Q_MIN, 10 * t, -1, buffer, position)
+                    : writeShortest(Q_MIN, t, 0, buffer, position);
+        }
+        return writeAscii("0.0", buffer, position);
+    }
+
+    /**
+     * Writes the digits of the given number.
+     *
+     * @param l      the number to write.
+     * @param buffer receives the ASCII-chars, at least
+     *               {@link JsonNumbers#MAX_LENGTH} bytes after the offset.
+     * @param offset the index of the first byte.
+     * @return the index after the last written byte.
+     */
+    public static int writeLong(long l, byte[] buffer, int offset) {
+        int position = offset;
+        // negative numbers are used, because -Long.MIN_VALUE does not exist
+        if (l < 0) {
+            buffer[position++] = '-';
+        } else {
+            l = -l;
+        }
+        int length = 1;
+        while (length < LONG_POWERS_OF_TEN.length && l <= -LONG_POWERS_OF_TEN[length]) {
+            length++;
+        }
+        if (l <= -1_000_000_000_000_000_000L) {
+            length = MAX_DIGITS;
+        }
+        for (int i = position + length - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' - l % 10);
+            l /= 10;
+        }
+        return position + length;
+    }
+
+    /**
+     * Finds the shortest decimal of the double c * 2^q by the Schubfach
+     * algorithm, see DoubleToDecimal of the JDK.
+     *
+     * @param dk the correction of the decimal exponent for tiny subnormals.
+     */
+    private static int writeShortest(int q, long c, int dk, byte[] buffer, int position) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        // the lower neighbor is closer at the boundary of two exponents
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10ThreeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+        int index = (k - K_MIN) << 1;
+        long g1 = POWERS_OF_TEN_126[index];
+        long g0 = POWERS_OF_TEN_126[index + 1];
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+        long s = vb >> 2;
+        if (s >= 100) {
+            // a decimal with one digit less, s / 10 * 10
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return writeDecimal(upin ? sp10 : tp10, k, buffer, position);
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return writeDecimal(uin ? s : t, k + dk, buffer, position);
+        }
+        // both are in the rounding interval, the closer one wins
+        long cmp = vb - (s + t << 1);
+        return writeDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer,
+                position);
+    }
+
+    /**
+     * @return the upper bits of g * cp / 2^127, the lowest bit is set, if the
+     *         product is inexact.
+     */
+    private static long roundToOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * Writes f * 10^e in the layout of {@link Double#toString(double)}.
+     */
+    private static int writeDecimal(long f, int e, byte[] buffer, int position) {
+        int length = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= LONG_POWERS_OF_TEN[length]) {
+            length++;
+        }
+        // the value is 0.d1d2d3... * 10^e
+        e += length;
+        while (f % 10 == 0) {
+            f /= 10;
+            length--;
+        }
+        if (0 < e && e <= 7) {
+            // e.g. 123.45 or 1200.0
+            if (length <= e) {
+                writeDigits(f, length, length, buffer, position);
+                for (int i = length; i < e; i++) {
+                    buffer[position + i] = '0';
+                }
+                buffer[position + e] = '.';
+                buffer[position + e + 1] = '0';
+                return position + e + 2;
+            }
+            writeDigits(f, length, e, buffer, position);
+            return position + length + 1;
+        } else if (-3 < e && e <= 0) {
+            // e.g. 0.00123
+            buffer[position++] = '0';
+            buffer[position++] = '.';
+            for (int i = e; i < 0; i++) {
+                buffer[position++] = '0';
+            }
+            writeDigits(f, length, length, buffer, position);
+            return position + length;
+        }
+        // e.g. 1.23E-5 or 1.0E10
+        if (length == 1) {
+            buffer[position++] = (byte) ('0' + f);
+            buffer[position++] = '.';
+            buffer[position++] = '0';
+        } else {
+            writeDigits(f, length, 1, buffer, position);
+            position += length + 1;
+        }
+        buffer[position++] = 'E';
+        int exponent = e - 1;
+        if (exponent < 0) {
+            buffer[position++] = '-';
+            exponent = -exponent;
+        }
+        if (exponent >= 100) {
+            buffer[position++] = (byte) ('0' + exponent / 100);
+            exponent %= 100;
+            buffer[position++] = (byte) ('0' + exponent / 10);
+        } else if (exponent >= 10) {
+            buffer[position++] = (byte) ('0' + exponent / 10);
+        }
+        buffer[position++] = (byte) ('0' + exponent % 10);
+        return position;
+    }
+
+    /**
+     * Writes the given number of digits from right to left, a point is inserted
+     * before the digit with the given index.
+     */
+    private static void writeDigits(long f, int length, int point, byte[] buffer, int position) {
+        if (point < length) {
+            buffer[position + point] = '.';
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            buffer[position + (i < point ? i : i + 1)] = (byte) ('0' + f % 10);
+            f /= 10;
+        }
+    }
+
+    private static int writeAscii(String s, byte[] buffer, int position) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer[position + i] = (byte) s.charAt(i);
+        }
+        return position + s.length();
+    }
+
+    /**
+     * Computes the double next to digits * 10^exponent by the algorithm of
+     * Eisel and Lemire, see "Number Parsing at a Gigabyte per Second".
+     *
+     * @param digits   an unsigned long, which is not zero.
+     * @param exponent the decimal exponent.
+     * @return the bits of the positive double.
+     */
+    private static long eiselLemire(long digits, int exponent) {
+        if (exponent < MIN_POWER_OF_FIVE) {
+            return 0;
+        } else if (exponent > MAX_POWER_OF_FIVE) {
+            return INFINITY_BITS;
+        }
+        int leadingZeros = Long.numberOfLeadingZeros(digits);
+        long w = digits << leadingZeros;
+        int index = (exponent - MIN_POWER_OF_FIVE) << 1;
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        // the lower 64 bits of the power are only needed, if the upper product
+        // could be rounded differently
+        long precisionMask = -1L >>> 55;
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 9;
+        long mantissa = high >>> shift;
+        int power2 = (217_706 * exponent >> 16) + 63 + upperBit - leadingZeros + 1023;
+        if (power2 <= 0) {
+            // a subnormal double
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            // the rounding can create the smallest normal double
+            power2 = mantissa < C_MIN ? 0 : 1;
+            return mantissa | (long) power2 << 52;
+        }
+        // exactly between two doubles, round to even
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23
+                && (mantissa & 3) == 1 && mantissa << shift == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << 52) {
+            mantissa = C_MIN;
+            power2++;
+        }
+        if (power2 >= 0x7FF) {
+            return INFINITY_BITS;
+        }
+        return mantissa & MANTISSA_MASK | (long) power2 << 52;
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + (x >> 63 & y) + (y >> 63 & x);
+    }
+
+    private static double parseSlow(CharSequence s, int start, int end) {
+        return Double.parseDouble(s.subSequence(start, end).toString());
+    }
+
+    /**
+     * @return floor(e * log10(2))
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * @return floor(e * log10(2) + log10(3/4))
+     */
+    private static int flog10ThreeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * @return floor(e * log2(10))
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * Computes the 128-bit approximations of 5^q for the Eisel-Lemire
+     * algorithm, like the table of the fast_float library: positive powers are
+     * truncated, negative ones are rounded up.
+     */
+    private static long[] powersOfFive() {
+        long[] table = new long[(MAX_POWER_OF_FIVE - MIN_POWER_OF_FIVE + 1) * 2];
+        BigInteger limit = BigInteger.ONE.shiftLeft(128);
+        for (int q = MIN_POWER_OF_FIVE; q <= MAX_POWER_OF_FIVE; q++) {
+            BigInteger power = BigInteger.valueOf(5).pow(Math.abs(q));
+            BigInteger value;
+            if (q < 0) {
+                int z = power.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                if (value.compareTo(limit) >= 0) {
+                    value = value.shiftRight(value.bitLength() - 128);
+                }
+            } else {
+                // the highest bit is moved to bit 127
+                int shift = 128 - power.bitLength();
+                value = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+            }
+            int index = (q - MIN_POWER_OF_FIVE) << 1;
+            table[index] = value.shiftRight(64).longValue();
+            table[index + 1] = value.longValue();
+        }
+        return table;
+    }
+
+    /**
+     * Computes g = floor(10^-k * 2^-r) + 1 with 2^125 &lt;= g &lt; 2^126 for the
+     * Schubfach algorithm, see MathUtils of the JDK.
+     */
+    private static long[] powersOfTen() {
+        long[] table = new long[(K_MAX - K_MIN + 1) * 2];
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int r = flog2pow10(-k) - 125;
+            BigInteger power = BigInteger.TEN.pow(Math.abs(k));
+            BigInteger value;
+            if (k <= 0) {
+                value = r <= 0 ? power.shiftLeft(-r) : power.shiftRight(r);
+            } else {
+                value = BigInteger.ONE.shiftLeft(-r).divide(power);
+            }
+            value = value.add(BigInteger.ONE);
+            int index = (k - K_MIN) << 1;
+            table[index] = value.shiftRight(63).longValue();
+            table[index + 1] = value.longValue() & MASK_63;
+        }
+        return table;
+    }
+
+}
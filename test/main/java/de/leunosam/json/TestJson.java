@@ -28,6 +28,18 @@ class TestJson {
         assertFalse(car1.equals(car2));
     }
 
+    @Test
+    void testEqualsArrays() {
+        Garage garage1 = new Garage();
+        Garage garage2 = new Garage();
+        garage1.spots = new int[] { 1, 2, 3 };
+        garage2.spots = new int[] { 1, 2, 3 };
+        assertTrue(garage1.equals(garage2));
+        assertEquals(garage1.hashCode(), garage2.hashCode());
+        garage2.spots[2] = 4;
+        assertFalse(garage1.equals(garage2));
+    }
+
     @Test
     void testHash() {
         Car car = new Car();
@@ -37,6 +49,20 @@ class TestJson {
         assertEquals(Objects.hash(car.id, car.horsePower, car.seats), car.hashCode());
     }
 
+    private class Garage extends Json {
+
+        private static final long serialVersionUID = -1387265021741860912L;
+
+        @JsonField
+        private int[] spots;
+
+        @Override
+        protected JsonDeserializer<? extends Json> getDeserializer() {
+            return null;
+        }
+
+    }
+
     private class Car extends Json {
 
         private static final long serialVersionUID = -7973612655349905384L;
@@ -0,0 +1,234 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonArrayPublisher {
+
+    private static final JsonDeserializer<Row> DESERIALIZER = JsonReflectiveDeserializer
+            .of(Row.class);
+
+    @Test
+    void testBackpressure() {
+        int count = 10000;
+        byte[] bytes = array(count).getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        // the caller runs all tasks, so the test is deterministic
+        new JsonArrayPublisher<>(new JsonReader(in), DESERIALIZER, Runnable::run)
+                .subscribe(subscriber);
+        assertTrue(subscriber.rows.isEmpty());
+        subscriber.subscription.request(3);
+        assertEquals(List.of(0, 1, 2), subscriber.ids());
+        // only a small part of the input is read
+        assertTrue(in.available() > bytes.length - 20000, "available " + in.available());
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(count, subscriber.rows.size());
+        assertEquals(count - 1, subscriber.rows.get(count - 1).id);
+        assertTrue(subscriber.isComplete);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void testRequestInOnNext() throws InterruptedException {
+        int count = 1000;
+        CountDownLatch done = new CountDownLatch(1);
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                super.onSubscribe(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Row item) {
+                super.onNext(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onComplete() {
+                super.onComplete();
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                super.onError(throwable);
+                done.countDown();
+            }
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            new JsonArrayPublisher<>(new JsonReader(new StringReader(array(count)), 64),
+                    DESERIALIZER, pool).subscribe(subscriber);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+        assertNull(subscriber.error);
+        assertEquals(count, subscriber.rows.size());
+        assertEquals(999, subscriber.rows.get(999).id);
+    }
+
+    @Test
+    void testCancel() {
+        boolean[] closed = new boolean[1];
+        InputStream in = new ByteArrayInputStream(array(100).getBytes(StandardCharsets.UTF_8)) {
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new JsonArrayPublisher<>(new JsonReader(in), DESERIALIZER, Runnable::run)
+                .subscribe(subscriber);
+        subscriber.subscription.request(2);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(2);
+        assertEquals(List.of(0, 1), subscriber.ids());
+        assertTrue(closed[0]);
+        assertNull(subscriber.error);
+        assertFalse(subscriber.isComplete);
+    }
+
+    @Test
+    void testThrowingSubscriber() {
+        boolean[] closed = new boolean[1];
+        InputStream in = new ByteArrayInputStream(array(100).getBytes(StandardCharsets.UTF_8)) {
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+
+            @Override
+            public void onNext(Row item) {
+                super.onNext(item);
+                if (item.id == 1) {
+                    throw new IllegalStateException("broken subscriber");
+                }
+            }
+        };
+        new JsonArrayPublisher<>(in, DESERIALIZER, Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(5);
+        // the subscriber is treated as cancelled
+        assertEquals(List.of(0, 1), subscriber.ids());
+        assertTrue(closed[0]);
+        assertNull(subscriber.error);
+        assertFalse(subscriber.isComplete);
+        subscriber.subscription.request(5);
+        assertEquals(2, subscriber.rows.size());
+    }
+
+    @Test
+    void testErrors() {
+        RecordingSubscriber malformed = subscribe("[{\"id\":1}, {\"id\":2");
+        malformed.subscription.request(5);
+        assertEquals(List.of(1), malformed.ids());
+        assertTrue(malformed.error instanceof JsonDeserializationException);
+
+        RecordingSubscriber invalid = subscribe("[{\"id\":1}]");
+        invalid.subscription.request(0);
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+
+        JsonArrayPublisher<Row> publisher = new JsonArrayPublisher<>(
+                new JsonReader(new StringReader("[]")), DESERIALIZER, Runnable::run);
+        RecordingSubscriber first = new RecordingSubscriber();
+        publisher.subscribe(first);
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+        first.subscription.request(1);
+        assertTrue(first.isComplete);
+
+        RecordingSubscriber empty = subscribe(" null ");
+        empty.subscription.request(1);
+        assertTrue(empty.isComplete);
+        assertTrue(empty.rows.isEmpty());
+    }
+
+    private static RecordingSubscriber subscribe(String json) {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new JsonArrayPublisher<>(new JsonReader(new StringReader(json)), DESERIALIZER,
+                Runnable::run).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static String array(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append("}");
+            if (i % 10 == 5) {
+                json.append(",null");
+            }
+        }
+        return json.append("]").toString();
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Row> {
+
+        protected Flow.Subscription subscription;
+        private final List<Row> rows = new ArrayList<>();
+        private volatile boolean isComplete = false;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Row item) {
+            rows.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            isComplete = true;
+        }
+
+        private List<Integer> ids() {
+            return rows.stream().map(row -> row.id).toList();
+        }
+
+    }
+
+    private static class Row extends Json {
+
+        private static final long serialVersionUID = 1190437655402916473L;
+
+        @JsonField
+        private int id;
+
+    }
+
+}
@@ -2,11 +2,16 @@ package de.leunosam.json.deserialize;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
@@ -75,6 +80,46 @@ class TestJsonDeserializer {
                 JsonDeserializer.readStringList(list));
     }
 
+    @Test
+    void testReadPrimitiveArrays() {
+        assertAll(
+                () -> assertArrayEquals(new boolean[] { true, false },
+                        JsonDeserializer.readBooleanArray(" [true ,\tfalse]\n")),
+                () -> assertArrayEquals(new int[] { -7, 0, 2_147_483_647 },
+                        JsonDeserializer.readIntArray("[-7, 0,2147483647 ]")),
+                () -> assertArrayEquals(new long[] { 6_980_005_123l, -1l },
+                        JsonDeserializer.readLongArray("[6980005123,-1]")),
+                () -> assertArrayEquals(new double[] { 1.42d, -0.5d, 1e10 },
+                        JsonDeserializer.readDoubleArray("[1.42, -0.5, 1e10]")),
+                () -> assertArrayEquals(new int[] {}, JsonDeserializer.readIntArray("[ ]")),
+                () -> assertEquals(null, JsonDeserializer.readDoubleArray(" null ")));
+        // the number of elements is counted before, both passes have to agree
+        for (String malformed : new String[] { "[1 2]", "[,1]", "[1,]", "[1,,2]", "[,]" }) {
+            assertThrows(JsonDeserializationException.class,
+                    () -> JsonDeserializer.readIntArray(malformed));
+            assertThrows(JsonDeserializationException.class,
+                    () -> JsonDeserializer.readIntegerList(malformed));
+        }
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonDeserializer.readBooleanArray("[true false]"));
+        assertArrayEquals(new long[] { 1, 2 }, JsonDeserializer.readLongArray("[ 1 , 2 ]"));
+    }
+
+    @Test
+    void testReadLargeDoubleList() {
+        int size = 1_000_000;
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            builder.append(i == 0 ? "" : ",").append(i + 0.5d);
+        }
+        builder.append(']');
+        List<Double> list = JsonDeserializer.readDoubleList(builder.toString());
+        assertTrue(list instanceof ArrayList);
+        assertEquals(size, list.size());
+        assertEquals(0.5d, list.get(0));
+        assertEquals(size - 0.5d, list.get(size - 1));
+    }
+
     @Test
     void testReadObjectList() {
         OtherJson other1 = new OtherJson();
@@ -93,6 +138,46 @@ class TestJsonDeserializer {
                 JsonDeserializer.readObjectList(list, other1.getDeserializer()));
     }
 
+    @Test
+    void testReadObjectListParallel() throws Exception {
+        List<OtherJson> expected = new ArrayList<>();
+        StringBuilder list = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            OtherJson other = null;
+            if (i % 100 != 0) {
+                other = new OtherJson();
+                other.someLong = (long) i;
+                other.someChars = "[" + i + "]";
+            }
+            expected.add(other);
+            list.append(i == 0 ? "" : ", ").append(other == null ? "null" : other.serialize());
+        }
+        String json = list.append("]").toString();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        TokenDeserializer deserializer = new TokenDeserializer();
+        assertEquals(expected, deserializer.getObjectListParallel(json));
+        assertEquals(expected, deserializer.getObjectListParallel(bytes, 0, bytes.length));
+        // the tasks use the pool of the caller, even on a single core
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, pool
+                    .submit(() -> deserializer.getObjectListParallel(ByteBuffer.wrap(bytes)))
+                    .get());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected.subList(0, 3), new OtherDeserializer()
+                .getObjectListParallel(json.substring(0, json.indexOf(", {\"isJson\":null,"
+                        + "\"someDouble\":null,\"someLong\":3")) + "]"));
+        assertEquals(null, deserializer.getObjectListParallel(" null "));
+        assertTrue(deserializer.getObjectListParallel("[ ]").isEmpty());
+        assertThrows(JsonDeserializationException.class,
+                () -> deserializer.getObjectListParallel(json.replace("\"[4001]\"", "[4001]")));
+        assertThrows(JsonDeserializationException.class,
+                () -> deserializer.getObjectListParallel(json + "]"));
+    }
+
     @Test
     void testInitJson() {
         OtherJson other = new OtherJson();
@@ -107,6 +192,30 @@ class TestJsonDeserializer {
                 () -> new MyJson(prettifier.prettify(other)));
     }
 
+    @Test
+    void testUtf8Input() {
+        OtherJson other = new OtherJson();
+        other.isJson = false;
+        other.someDouble = -0.25e-3d;
+        other.someLong = 178367128349l;
+        other.someChars = "Tschüss \uD83D\uDE00 ::{[,";
+        byte[] bytes = ("  " + new JsonPrettifier().prettify(other) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        TokenDeserializer deserializer = new TokenDeserializer();
+        assertEquals(other, deserializer.getObject(bytes, 0, bytes.length));
+        assertEquals(other, new OtherDeserializer().getObject(bytes, 0, bytes.length));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 10);
+        buffer.put(new byte[10]).put(bytes).flip().position(10);
+        assertEquals(other, deserializer.getObject(buffer));
+        assertEquals(10, buffer.position());
+
+        OtherJson target = new OtherJson();
+        target.deserialize(bytes, 0, bytes.length);
+        assertEquals(other, target);
+    }
+
     @Test
     void testNullValues() {
         String[] nullValues = { "null", "   null     \n", "\n\tnull   ", "null\t\t" };
@@ -201,6 +310,41 @@ class TestJsonDeserializer {
         }
     }
 
+    private class TokenDeserializer extends JsonDeserializer<OtherJson> {
+
+        @Override
+        public OtherJson getObject(String json) throws JsonDeserializationException {
+            JsonTokenizer tokenizer = new JsonTokenizer(json);
+            OtherJson result = getObject(tokenizer);
+            tokenizer.endOfInput();
+            return result;
+        }
+
+        @Override
+        public OtherJson getObject(JsonTokenizer tokenizer) throws JsonDeserializationException {
+            if (tokenizer.readNull()) {
+                return null;
+            }
+            OtherJson result = new OtherJson();
+            tokenizer.beginObject();
+            while (tokenizer.nextField()) {
+                if (tokenizer.nameEquals("isJson")) {
+                    result.isJson = tokenizer.readBoolean();
+                } else if (tokenizer.nameEquals("someDouble")) {
+                    result.someDouble = tokenizer.readDouble();
+                } else if (tokenizer.nameEquals("someLong")) {
+                    result.someLong = tokenizer.readLong();
+                } else if (tokenizer.nameEquals("someChars")) {
+                    result.someChars = tokenizer.readString();
+                } else {
+                    tokenizer.skipValue();
+                }
+            }
+            return result;
+        }
+
+    }
+
     private class OtherDeserializer extends JsonDeserializer<OtherJson> {
 
         @Override
@@ -0,0 +1,72 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TestJsonDocument {
+
+    private static final String JSON = " {\"type\":\"order\", \"id\":17,\"price\":2.5,"
+            + "\"customer\":{\"name\":\"Jürgen\",\"address\":{\"city\":\"Köln\"}},"
+            + "\"items\":[1,2,3],\"tags\":[\"a\",\"b\"],\"empty\":null,\"id\":18} ";
+
+    @Test
+    void testFields() {
+        JsonDocument document = new JsonDocument(JSON);
+        assertEquals(8, document.size());
+        assertEquals(List.of("type", "id", "price", "customer", "items", "tags", "empty", "id"),
+                document.getNames());
+        assertEquals("order", document.getString("type"));
+        // the last field wins
+        assertEquals(18L, document.getLong("id"));
+        assertEquals(2.5d, document.getDouble("price"));
+        assertEquals(List.of(1, 2, 3), document.getIntegerList("items"));
+        assertEquals(List.of("a", "b"), document.getStringList("tags"));
+        assertTrue(document.contains("empty"));
+        assertNull(document.getString("empty"));
+        assertNull(document.getDocument("empty"));
+        assertFalse(document.contains("missing"));
+        assertNull(document.getInteger("missing"));
+        assertEquals("[1,2,3]", document.getValue("items"));
+        assertEquals(JSON.trim(), document.toString());
+        assertNull(document.getBytes());
+    }
+
+    @Test
+    void testNestedDocuments() {
+        byte[] bytes = ("xx" + JSON).getBytes(StandardCharsets.UTF_8);
+        JsonDocument document = new JsonDocument(bytes, 2, bytes.length - 2);
+        JsonDocument customer = document.getDocument("customer");
+        assertSame(customer, document.getDocument("customer"));
+        assertEquals("Jürgen", customer.getString("name"));
+        assertEquals("Köln", customer.getDocument("address").getString("city"));
+        assertEquals("{\"city\":\"Köln\"}", customer.getValue("address"));
+
+        ByteBuffer forwarded = customer.getBytes();
+        assertTrue(forwarded.isReadOnly());
+        byte[] copy = new byte[forwarded.remaining()];
+        forwarded.get(copy);
+        assertEquals("{\"name\":\"Jürgen\",\"address\":{\"city\":\"Köln\"}}",
+                new String(copy, StandardCharsets.UTF_8));
+        assertEquals(JSON.trim(), StandardCharsets.UTF_8.decode(document.getBytes()).toString());
+    }
+
+    @Test
+    void testMalformed() {
+        assertThrows(JsonDeserializationException.class, () -> new JsonDocument("[1,2]"));
+        assertThrows(JsonDeserializationException.class, () -> new JsonDocument("{\"a\":1"));
+        assertThrows(JsonDeserializationException.class, () -> new JsonDocument("{\"a\":1} 2"));
+        JsonDocument document = new JsonDocument("{\"a\":[1,2]}");
+        assertThrows(JsonDeserializationException.class, () -> document.getDocument("a"));
+    }
+
+}
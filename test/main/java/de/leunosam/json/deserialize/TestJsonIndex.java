@@ -0,0 +1,73 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class TestJsonIndex {
+
+    private static final String JSON = " {\"id\":7, \"name\":\"a,b:{[\", "
+            + "\"customer\":{\"city\":\"Köln\",\"tags\":[ ]},"
+            + "\"items\":[{\"id\":1},{\"id\":2, \"sizes\":[3, 4 ,5]}, null],"
+            + "\"a/b\":true,\"m~n\":1.5,\"\":\"empty\"} ";
+
+    @Test
+    void testPointers() {
+        JsonIndex index = new JsonIndex(JSON);
+        assertEquals(7, index.getInteger("/id"));
+        assertEquals("a,b:{[", index.getString("/name"));
+        assertEquals("Köln", index.getString("/customer/city"));
+        assertEquals("[ ]", index.getValue("/customer/tags"));
+        assertEquals(1L, index.getLong("/items/0/id"));
+        assertEquals(2L, index.getLong("/items/1/id"));
+        assertEquals(5, index.getInteger("/items/1/sizes/2"));
+        assertEquals(3, index.getInteger("/items/1/sizes/0"));
+        assertNull(index.getValue("/items/2/id"));
+        assertTrue(index.contains("/items/2"));
+        assertEquals(true, index.getBoolean("/a~1b"));
+        assertEquals(1.5d, index.getDouble("/m~0n"));
+        assertEquals("empty", index.getString("/"));
+        assertEquals(JSON.trim(), index.getValue(""));
+    }
+
+    @Test
+    void testMissing() {
+        JsonIndex index = new JsonIndex(JSON);
+        assertFalse(index.contains("/missing"));
+        assertFalse(index.contains("/items/3"));
+        assertFalse(index.contains("/items/x"));
+        // array-indexes are 0 or [1-9][0-9]*
+        assertTrue(index.contains("/items/1"));
+        for (String invalid : new String[] { "-1", "+1", "01", "-", "", "1e0", "99999999999" }) {
+            assertFalse(index.contains("/items/" + invalid));
+            assertNull(index.getValue("/items/" + invalid));
+        }
+        assertFalse(index.contains("/customer/tags/0"));
+        assertFalse(index.contains("/id/0"));
+        assertThrows(IllegalArgumentException.class, () -> index.contains("id"));
+    }
+
+    @Test
+    void testUtf8() {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        JsonIndex index = new JsonIndex(bytes, 0, bytes.length);
+        assertEquals("Köln", index.getString("/customer/city"));
+        assertEquals(4, index.getInteger("/items/1/sizes/1"));
+        assertEquals("{\"city\":\"Köln\",\"tags\":[ ]}", index.getValue("/customer"));
+    }
+
+    @Test
+    void testMalformed() {
+        assertThrows(JsonDeserializationException.class, () -> new JsonIndex("{\"a\":[1,2}"));
+        assertThrows(JsonDeserializationException.class, () -> new JsonIndex("{\"a\":[1,2]"));
+        assertThrows(JsonDeserializationException.class, () -> new JsonIndex("{\"a\":\"1}"));
+        assertThrows(JsonDeserializationException.class, () -> new JsonIndex("]"));
+    }
+
+}
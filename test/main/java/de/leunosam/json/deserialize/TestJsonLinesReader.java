@@ -0,0 +1,129 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonLinesReader {
+
+    private static final JsonDeserializer<Event> DESERIALIZER = JsonReflectiveDeserializer
+            .of(Event.class);
+
+    @Test
+    void testRead() throws IOException {
+        String text = "{\"time\":1,\"message\":\"ä\",\"tags\":[\"a\",\"b\"]}\r\n\n  \n"
+                + "{\"time\":2,\"message\":\"" + "x".repeat(100) + "\"}\nnull\n{\"time\":3}";
+        // a tiny buffer, which has to grow and to be compacted
+        try (JsonLinesReader<Event> reader = new JsonLinesReader<>(input(text), DESERIALIZER,
+                8)) {
+            assertEquals(event(1, "ä", List.of("a", "b")), reader.read());
+            assertEquals(1, reader.getLineNumber());
+            assertEquals(event(2, "x".repeat(100), null), reader.read());
+            assertEquals(4, reader.getLineNumber());
+            assertEquals(event(3, null, null), reader.read());
+            assertNull(reader.read());
+            assertNull(reader.read());
+            assertEquals(6, reader.getLineNumber());
+        }
+    }
+
+    @Test
+    void testReadInto() throws IOException {
+        String text = "{\"time\":1,\"message\":\"a\",\"tags\":[\"x\"]}\n{\"time\":2}\n";
+        try (JsonLinesReader<Event> reader = new JsonLinesReader<>(input(text),
+                JsonReflectiveDeserializer.reusing(Event.class))) {
+            Event event = new Event();
+            assertTrue(reader.readInto(event));
+            assertEquals(event(1, "a", List.of("x")), event);
+            assertTrue(reader.readInto(event));
+            // nothing is left over from the previous line
+            assertEquals(event(2, null, null), event);
+            assertFalse(reader.readInto(event));
+        }
+    }
+
+    @Test
+    void testStream() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("{\"time\":").append(i).append("}\n");
+        }
+        try (Stream<Event> events = new JsonLinesReader<>(input(text.toString()), DESERIALIZER,
+                100).stream()) {
+            assertEquals(499500, events.mapToLong(event -> event.time).sum());
+        }
+        assertEquals(List.of(), new JsonLinesReader<>(input(""), DESERIALIZER).stream().toList());
+    }
+
+    @Test
+    void testMalformed() throws IOException {
+        try (JsonLinesReader<Event> reader = new JsonLinesReader<>(
+                input("{\"time\":1}\n{\"time\":2"), DESERIALIZER)) {
+            reader.read();
+            JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                    reader::read);
+            assertTrue(e.getMessage().startsWith("Line 2: "));
+        }
+        try (JsonLinesReader<Event> reader = new JsonLinesReader<>(input("{\"time\":1} {}"),
+                DESERIALIZER)) {
+            Event event = new Event();
+            assertThrows(JsonDeserializationException.class, () -> reader.readInto(event));
+        }
+    }
+
+    @Test
+    void testClose() throws IOException {
+        boolean[] closed = new boolean[1];
+        InputStream in = new ByteArrayInputStream(new byte[0]) {
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        Stream<Event> events = new JsonLinesReader<>(in, DESERIALIZER).stream();
+        events.close();
+        assertTrue(closed[0]);
+    }
+
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Event event(long time, String message, List<String> tags) {
+        Event event = new Event();
+        event.time = time;
+        event.message = message;
+        event.tags = tags;
+        return event;
+    }
+
+    // a log entry, the typical content of Json Lines
+    private static class Event extends Json {
+
+        private static final long serialVersionUID = 2514407930563212283L;
+
+        @JsonField
+        private long time;
+        @JsonField
+        private String message;
+        @JsonField
+        private List<String> tags;
+
+    }
+
+}
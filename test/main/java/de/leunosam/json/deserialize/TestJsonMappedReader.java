@@ -0,0 +1,124 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonMappedReader {
+
+    private static final JsonDeserializer<Entry> DESERIALIZER = JsonReflectiveDeserializer
+            .of(Entry.class);
+
+    @Test
+    void testWindows() throws IOException {
+        Path file = Files.createTempFile("entries", ".json");
+        try {
+            StringBuilder json = new StringBuilder(" [\n");
+            for (int i = 0; i < 500; i++) {
+                json.append(i == 0 ? "" : " ,\n").append(entry(i).serialize());
+            }
+            json.append(",null\n] \n\n");
+            Files.writeString(file, json);
+
+            // windows of the minimum size, so every element crosses some window
+            for (int windowSize : new int[] { 16, 100, 1 << 20 }) {
+                try (JsonMappedReader<Entry> reader = JsonMappedReader.open(file, DESERIALIZER,
+                        windowSize)) {
+                    for (int i = 0; i < 500; i++) {
+                        assertEquals(entry(i), reader.read());
+                    }
+                    assertNull(reader.read());
+                    assertNull(reader.read());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testStream() throws IOException {
+        Path file = Files.createTempFile("entries", ".json");
+        try {
+            Files.writeString(file, "[{\"id\":1},{\"id\":2},{\"id\":3}]");
+            try (Stream<Entry> entries = JsonMappedReader.open(file, DESERIALIZER, 20).stream()) {
+                assertEquals(List.of(1L, 2L, 3L), entries.map(entry -> entry.id).toList());
+            }
+            Files.writeString(file, "[ ]");
+            try (JsonMappedReader<Entry> reader = JsonMappedReader.open(file, DESERIALIZER)) {
+                assertNull(reader.read());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testReadObject() throws IOException {
+        Path file = Files.createTempFile("entries", ".json");
+        try {
+            Files.writeString(file, " {\"id\":7,\"values\":[1,2]} ");
+            Entry entry = JsonMappedReader.readObject(file, DESERIALIZER);
+            assertEquals(7L, entry.id);
+            assertEquals(List.of(1L, 2L), entry.values);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMalformed() throws IOException {
+        Path file = Files.createTempFile("entries", ".json");
+        try {
+            Files.writeString(file, "{\"id\":1}");
+            assertThrows(JsonDeserializationException.class,
+                    () -> JsonMappedReader.open(file, DESERIALIZER));
+
+            for (String json : new String[] { "[{\"id\":1},{\"id\":2", "[{\"id\":1}] []",
+                    "[{\"id\":1},{\"id\":\"a}]" }) {
+                Files.writeString(file, json);
+                try (JsonMappedReader<Entry> reader = JsonMappedReader.open(file, DESERIALIZER,
+                        16)) {
+                    assertEquals(1L, reader.read().id);
+                    assertThrows(JsonDeserializationException.class, reader::read);
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static Entry entry(long id) {
+        Entry entry = new Entry();
+        entry.id = id;
+        // every 50th element is larger than the smallest window
+        entry.text = id % 50 == 0 ? "ö".repeat(100) : "e" + id;
+        entry.values = List.of(id, -id);
+        return entry;
+    }
+
+    private static class Entry extends Json {
+
+        private static final long serialVersionUID = -5712209385264810795L;
+
+        @JsonField
+        private Long id;
+        @JsonField
+        private String text;
+        @JsonField
+        private List<Long> values;
+
+    }
+
+}
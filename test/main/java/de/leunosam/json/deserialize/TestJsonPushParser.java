@@ -0,0 +1,114 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonPushParser {
+
+    private static final JsonDeserializer<Node> DESERIALIZER = JsonReflectiveDeserializer
+            .of(Node.class);
+
+    @Test
+    void testSequence() {
+        String json = "{\"id\":1,\"name\":\"äö\"}\n{\"id\":2,\"name\":\"{[]\","
+                + "\"children\":[{\"id\":3}]} null  {\"id\":3}{\"id\":4}\r\n";
+        // every chunk size splits names, Strings, numbers and multi-byte chars
+        for (int chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+            List<Node> nodes = new ArrayList<>();
+            JsonPushParser<Node> parser = new JsonPushParser<>(DESERIALIZER, nodes::add);
+            feed(parser, json, chunkSize);
+            parser.finish();
+            assertEquals(4, nodes.size());
+            assertEquals("äö", nodes.get(0).name);
+            assertEquals("{[]", nodes.get(1).name);
+            assertEquals(1, nodes.get(1).children.size());
+            assertEquals(4, nodes.get(3).id);
+        }
+    }
+
+    @Test
+    void testArrays() {
+        String json = " [ {\"id\":1} , null,{\"id\":2,\"children\":[{\"id\":22}]}] [] [{\"id\":3}]";
+        for (int chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+            List<Integer> ids = new ArrayList<>();
+            JsonPushParser<Node> parser = new JsonPushParser<>(DESERIALIZER,
+                    node -> ids.add(node.id), true);
+            feed(parser, json, chunkSize);
+            parser.finish();
+            assertEquals(List.of(1, 2, 3), ids);
+        }
+    }
+
+    @Test
+    void testByteBuffer() {
+        List<Node> nodes = new ArrayList<>();
+        JsonPushParser<Node> parser = new JsonPushParser<>(DESERIALIZER, nodes::add, true);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        byte[] bytes = "[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length;) {
+            // a reused buffer like in a channel-loop, the position isn't 0
+            buffer.clear();
+            buffer.put((byte) ' ');
+            int length = Math.min(buffer.remaining(), bytes.length - i);
+            buffer.put(bytes, i, length).flip();
+            buffer.get();
+            parser.feed(buffer);
+            assertEquals(buffer.limit(), buffer.position());
+            i += length;
+        }
+        parser.finish();
+        assertEquals(2, nodes.size());
+        assertEquals(2, nodes.get(1).id);
+    }
+
+    @Test
+    void testMalformed() {
+        assertThrows(JsonDeserializationException.class, () -> parse("{\"id\":1", false));
+        assertThrows(JsonDeserializationException.class, () -> parse("{\"id\":\"1}", false));
+        assertThrows(JsonDeserializationException.class, () -> parse("[{\"id\":1}", true));
+        assertThrows(JsonDeserializationException.class, () -> parse("[{\"id\":1} {}]", true));
+        assertThrows(JsonDeserializationException.class, () -> parse("{\"id\":1}", true));
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> parse("{\"id\":1} {\"id\" 1}", false));
+        assertTrue(e.getMessage().startsWith("Value at offset 9: "), e.getMessage());
+    }
+
+    private static void parse(String json, boolean unwrapArrays) {
+        JsonPushParser<Node> parser = new JsonPushParser<>(DESERIALIZER, node -> {
+        }, unwrapArrays);
+        feed(parser, json, 3);
+        parser.finish();
+    }
+
+    private static void feed(JsonPushParser<Node> parser, String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            parser.feed(bytes, i, Math.min(chunkSize, bytes.length - i));
+        }
+    }
+
+    private static class Node extends Json {
+
+        private static final long serialVersionUID = 6207350409735906342L;
+
+        @JsonField
+        private int id;
+        @JsonField
+        private String name;
+        @JsonField
+        private List<Node> children;
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonReader {
+
+    private static final JsonDeserializer<Order> DESERIALIZER = JsonReflectiveDeserializer
+            .of(Order.class);
+
+    @Test
+    void testRead() throws IOException {
+        String json = " { \"id\" : 12345678901 , \"name\":\"" + "x".repeat(40)
+                + "\", \"price\": -1.5e3, \"active\":true, \"note\":null,"
+                + " \"tags\":[\"a\", \"b\"], \"extra\":{\"a\":[1,{\"b\":\"]\"}]}, \"count\":7 } ";
+        // the tiny buffer splits names, Strings and numbers
+        try (JsonReader reader = new JsonReader(chunked(json), 16)) {
+            assertEquals(JsonToken.BEGIN_OBJECT, reader.peek());
+            reader.beginObject();
+            assertTrue(reader.hasNext());
+            assertEquals(JsonToken.NAME, reader.peek());
+            assertEquals("id", reader.nextName());
+            assertEquals(JsonToken.NUMBER, reader.peek());
+            assertEquals(12345678901L, reader.nextLong());
+            assertEquals("name", reader.nextName());
+            assertEquals("x".repeat(40), reader.nextString());
+            assertEquals("price", reader.nextName());
+            assertEquals(-1500.0, reader.nextDouble());
+            assertEquals("active", reader.nextName());
+            assertTrue(reader.nextBoolean());
+            assertEquals("note", reader.nextName());
+            assertNull(reader.nextString());
+            assertEquals("tags", reader.nextName());
+            reader.beginArray();
+            assertEquals("a", reader.nextString());
+            assertEquals("b", reader.nextString());
+            assertFalse(reader.hasNext());
+            reader.endArray();
+            // a name is skipped together with its value
+            reader.skipValue();
+            assertEquals("count", reader.nextName());
+            assertEquals(7, reader.nextInt());
+            assertFalse(reader.hasNext());
+            reader.endObject();
+            assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+            reader.endOfInput();
+        }
+    }
+
+    @Test
+    void testNextToken() throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new StringReader("[{\"a\":1},\"s\",false,null,[]]"),
+                16)) {
+            for (JsonToken token; (token = reader.nextToken()) != JsonToken.END_DOCUMENT;) {
+                tokens.add(token + (reader.getText().isEmpty() ? "" : " " + reader.getText()));
+            }
+        }
+        assertEquals(List.of("BEGIN_ARRAY", "BEGIN_OBJECT", "NAME a", "NUMBER 1", "END_OBJECT",
+                "STRING s", "BOOLEAN false", "NULL null", "BEGIN_ARRAY", "END_ARRAY", "END_ARRAY"),
+                tokens);
+    }
+
+    @Test
+    void testReadHelpers() throws IOException {
+        String json = "{\"ids\": [1, 2, null], \"orders\": [{\"id\":1,\"customer\":\"a b\","
+                + " \"amounts\": [2, 3]}, null, {\"id\" : 2}], \"order\": {\"id\":3},"
+                + " \"none\": null}";
+        try (JsonReader reader = new JsonReader(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            reader.beginObject();
+            assertEquals("ids", reader.nextName());
+            assertEquals("[1,2,null]", reader.nextValue());
+            assertEquals("orders", reader.nextName());
+            List<Order> orders = JsonDeserializer.readObjectList(reader.nextValue(),
+                    DESERIALIZER);
+            assertEquals(3, orders.size());
+            assertEquals("a b", orders.get(0).customer);
+            assertEquals(List.of(2L, 3L), orders.get(0).amounts);
+            assertNull(orders.get(1));
+            assertEquals(2, orders.get(2).id);
+            assertEquals("order", reader.nextName());
+            assertEquals(3, reader.readObject(DESERIALIZER).id);
+            assertEquals("none", reader.nextName());
+            assertNull(reader.readObject(DESERIALIZER));
+            reader.endObject();
+            reader.endOfInput();
+        }
+        try (JsonReader reader = new JsonReader(new StringReader("[1, 2, 3]"))) {
+            assertEquals(List.of(1L, 2L, 3L), JsonDeserializer.readLongList(reader.nextValue()));
+        }
+    }
+
+    @Test
+    void testLargeArray() throws IOException {
+        int count = 10000;
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i)
+                    .append(",\"amounts\":[").append(i).append(",1]}");
+        }
+        json.append("]");
+        long sum = 0;
+        try (JsonReader reader = new JsonReader(new StringReader(json.toString()), 64)) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Order order = reader.readObject(DESERIALIZER);
+                assertEquals(List.of(order.id, 1L), order.amounts);
+                sum += order.id;
+            }
+            reader.endArray();
+            reader.endOfInput();
+        }
+        assertEquals((long) count * (count - 1) / 2, sum);
+    }
+
+    @Test
+    void testMalformed() {
+        assertThrows(JsonDeserializationException.class, () -> read("{\"a\":1 \"b\":2}"));
+        assertThrows(JsonDeserializationException.class, () -> read("{\"a\" 1}"));
+        assertThrows(JsonDeserializationException.class, () -> read("{1:2}"));
+        assertThrows(JsonDeserializationException.class, () -> read("[1,]"));
+        assertThrows(JsonDeserializationException.class, () -> read("[\"abc"));
+        assertThrows(JsonDeserializationException.class, () -> read("[1] 2"));
+        assertThrows(JsonDeserializationException.class, () -> read(""));
+        assertThrows(JsonDeserializationException.class, () -> {
+            try (JsonReader reader = new JsonReader(new StringReader("[1]"))) {
+                reader.beginObject();
+            }
+        });
+        assertThrows(NumberFormatException.class, () -> {
+            try (JsonReader reader = new JsonReader(new StringReader("1.5"))) {
+                reader.nextLong();
+            }
+        });
+    }
+
+    private static void read(String json) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.skipValue();
+            reader.endOfInput();
+        }
+    }
+
+    /**
+     * @return a {@link Reader}, which returns at most 3 chars at once.
+     */
+    private static Reader chunked(String json) {
+        return new StringReader(json) {
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    private static class Order extends Json {
+
+        private static final long serialVersionUID = -3302127914093462412L;
+
+        @JsonField
+        private long id;
+        @JsonField
+        private String customer;
+        @JsonField
+        private List<Long> amounts;
+
+    }
+
+}
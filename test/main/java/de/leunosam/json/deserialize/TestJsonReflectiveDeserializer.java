@@ -0,0 +1,345 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonReflectiveDeserializer {
+
+    @Test
+    void testRoundTrip() {
+        Node node = new Node();
+        node.name = "root";
+        node.count = 3;
+        node.weights = new double[] { 0.5, -1e-7 };
+        node.tags = List.of("a", "b,c");
+        node.child = new Node();
+        node.child.name = "child";
+        node.children = List.of(new Node(), node.child);
+
+        JsonReflectiveDeserializer<Node> deserializer = JsonReflectiveDeserializer.of(Node.class);
+        assertSame(deserializer, JsonReflectiveDeserializer.of(Node.class));
+        assertEquals(node, deserializer.getObject(node.serialize()));
+
+        Node copy = new Node();
+        copy.deserialize(node.serialize());
+        assertEquals(node, copy);
+    }
+
+    @Test
+    void testFieldNames() {
+        String json = "{\"unknown\":{\"name\":\"x\"},\"größe\":4,\"NAME\":\"no\",\"count\":null,"
+                + "\"name\":\"yes\",\"\":1}";
+        Node node = JsonReflectiveDeserializer.of(Node.class).getObject(json);
+        assertEquals("yes", node.name);
+        assertEquals(4, node.size);
+        // null can't be assigned to a primitive
+        assertEquals(-1, node.count);
+
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertEquals(node, JsonReflectiveDeserializer.of(Node.class).getObject(bytes, 0,
+                bytes.length));
+    }
+
+    @Test
+    void testReadInto() {
+        JsonReflectiveDeserializer<Node> deserializer = JsonReflectiveDeserializer.of(Node.class);
+        Node target = new Node();
+        target.name = "old";
+        target.size = 3;
+        deserializer.readInto(target, "{\"count\":5,\"tags\":[\"x\"],\"name\":\"new\"}");
+        assertEquals("new", target.name);
+        assertEquals(5, target.count);
+        assertEquals(List.of("x"), target.tags);
+        // missing fields get the values of a new instance
+        assertNull(target.size);
+
+        target.deserialize("{\"name\":null,\"count\":null}");
+        assertNull(target.name);
+        assertEquals(-1, target.count);
+        assertNull(target.tags);
+        assertEquals(new Node(), target);
+
+        assertThrows(JsonDeserializationException.class,
+                () -> deserializer.readInto(target, "null"));
+        assertThrows(JsonDeserializationException.class,
+                () -> target.deserialize("{\"count\":7} {}"));
+    }
+
+    @Test
+    void testReusing() {
+        JsonReflectiveDeserializer<Node> deserializer = JsonReflectiveDeserializer
+                .reusing(Node.class);
+        Node target = deserializer.getObject("{\"weights\":[1,2],\"tags\":[\"a\"],"
+                + "\"child\":{\"name\":\"c\"},\"children\":[{\"count\":1},{\"count\":2}]}");
+        Node child = target.child;
+        List<String> tags = target.tags;
+        double[] weights = target.weights;
+        List<Node> children = target.children;
+        Node first = children.get(0);
+
+        deserializer.readInto(target, "{\"weights\":[3,4],\"tags\":[\"b\",\"c\"],"
+                + "\"child\":{\"name\":\"d\"},\"children\":[{\"count\":3}]}");
+        assertSame(child, target.child);
+        assertEquals("d", child.name);
+        assertSame(tags, target.tags);
+        assertEquals(List.of("b", "c"), tags);
+        assertSame(weights, target.weights);
+        assertArrayEquals(new double[] { 3, 4 }, weights);
+        assertSame(children, target.children);
+        assertEquals(1, children.size());
+        assertSame(first, children.get(0));
+        assertEquals(3, first.count);
+
+        deserializer.readInto(target, "{\"weights\":[5],\"child\":null,\"children\":null}");
+        assertArrayEquals(new double[] { 5 }, target.weights);
+        assertNull(target.child);
+        assertNull(target.children);
+    }
+
+    @Test
+    void testManyFields() {
+        Wide wide = new Wide();
+        wide.a1 = 1;
+        wide.b1 = 2;
+        wide.a2 = 3;
+        wide.b2 = 4;
+        wide.ab = 5;
+        wide.ba = 6;
+        Wide copy = JsonReflectiveDeserializer.of(Wide.class).getObject(wide.serialize());
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6 },
+                new int[] { copy.a1, copy.b1, copy.a2, copy.b2, copy.ab, copy.ba });
+
+        // more than 64 fields are tracked in an array
+        Huge huge = new Huge();
+        huge.deserialize("{\"f0\":1,\"f63\":2,\"f64\":3,\"f69\":4}");
+        Huge expected = new Huge();
+        expected.f0 = 1;
+        expected.f63 = 2;
+        expected.f64 = 3;
+        expected.f69 = 4;
+        assertEquals(expected, huge);
+        huge.deserialize("{\"f5\":6,\"f65\":7}");
+        expected = new Huge();
+        expected.f5 = 6;
+        expected.f65 = 7;
+        assertEquals(expected, huge);
+    }
+
+    @Test
+    void testErrors() {
+        assertNull(JsonReflectiveDeserializer.of(Node.class).getObject(" null "));
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonReflectiveDeserializer.of(Node.class).getObject("{\"name\":1} x"));
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonReflectiveDeserializer.of(Inner.class).getObject("{}"));
+    }
+
+    private static class Node extends Json {
+
+        private static final long serialVersionUID = -6046372151096751547L;
+
+        @JsonField
+        private String name;
+        @JsonField
+        private int count = -1;
+        @JsonField("größe")
+        private Integer size;
+        @JsonField
+        private double[] weights;
+        @JsonField
+        private List<String> tags;
+        @JsonField
+        private Node child;
+        @JsonField
+        private List<Node> children;
+
+    }
+
+    private static class Huge extends Json {
+
+        private static final long serialVersionUID = 3047726151204887245L;
+
+        @JsonField
+        private int f0 = 0;
+        @JsonField
+        private int f1 = -1;
+        @JsonField
+        private int f2 = -2;
+        @JsonField
+        private int f3 = -3;
+        @JsonField
+        private int f4 = -4;
+        @JsonField
+        private int f5 = -5;
+        @JsonField
+        private int f6 = -6;
+        @JsonField
+        private int f7 = -7;
+        @JsonField
+        private int f8 = -8;
+        @JsonField
+        private int f9 = -9;
+        @JsonField
+        private int f10 = -10;
+        @JsonField
+        private int f11 = -11;
+        @JsonField
+        private int f12 = -12;
+        @JsonField
+        private int f13 = -13;
+        @JsonField
+        private int f14 = -14;
+        @JsonField
+        private int f15 = -15;
+        @JsonField
+        private int f16 = -16;
+        @JsonField
+        private int f17 = -17;
+        @JsonField
+        private int f18 = -18;
+        @JsonField
+        private int f19 = -19;
+        @JsonField
+        private int f20 = -20;
+        @JsonField
+        private int f21 = -21;
+        @JsonField
+        private int f22 = -22;
+        @JsonField
+        private int f23 = -23;
+        @JsonField
+        private int f24 = -24;
+        @JsonField
+        private int f25 = -25;
+        @JsonField
+        private int f26 = -26;
+        @JsonField
+        private int f27 = -27;
+        @JsonField
+        private int f28 = -28;
+        @JsonField
+        private int f29 = -29;
+        @JsonField
+        private int f30 = -30;
+        @JsonField
+        private int f31 = -31;
+        @JsonField
+        private int f32 = -32;
+        @JsonField
+        private int f33 = -33;
+        @JsonField
+        private int f34 = -34;
+        @JsonField
+        private int f35 = -35;
+        @JsonField
+        private int f36 = -36;
+        @JsonField
+        private int f37 = -37;
+        @JsonField
+        private int f38 = -38;
+        @JsonField
+        private int f39 = -39;
+        @JsonField
+        private int f40 = -40;
+        @JsonField
+        private int f41 = -41;
+        @JsonField
+        private int f42 = -42;
+        @JsonField
+        private int f43 = -43;
+        @JsonField
+        private int f44 = -44;
+        @JsonField
+        private int f45 = -45;
+        @JsonField
+        private int f46 = -46;
+        @JsonField
+        private int f47 = -47;
+        @JsonField
+        private int f48 = -48;
+        @JsonField
+        private int f49 = -49;
+        @JsonField
+        private int f50 = -50;
+        @JsonField
+        private int f51 = -51;
+        @JsonField
+        private int f52 = -52;
+        @JsonField
+        private int f53 = -53;
+        @JsonField
+        private int f54 = -54;
+        @JsonField
+        private int f55 = -55;
+        @JsonField
+        private int f56 = -56;
+        @JsonField
+        private int f57 = -57;
+        @JsonField
+        private int f58 = -58;
+        @JsonField
+        private int f59 = -59;
+        @JsonField
+        private int f60 = -60;
+        @JsonField
+        private int f61 = -61;
+        @JsonField
+        private int f62 = -62;
+        @JsonField
+        private int f63 = -63;
+        @JsonField
+        private int f64 = -64;
+        @JsonField
+        private int f65 = -65;
+        @JsonField
+        private int f66 = -66;
+        @JsonField
+        private int f67 = -67;
+        @JsonField
+        private int f68 = -68;
+        @JsonField
+        private int f69 = -69;
+
+    }
+
+    private static class Wide extends Json {
+
+        private static final long serialVersionUID = 1955377409712035826L;
+
+        // short and similar names, which share their slots in the hash-table
+        @JsonField
+        private int a1;
+        @JsonField
+        private int b1;
+        @JsonField
+        private int a2;
+        @JsonField
+        private int b2;
+        @JsonField
+        private int ab;
+        @JsonField
+        private int ba;
+
+    }
+
+    private class Inner extends Json {
+
+        private static final long serialVersionUID = 7447204361990575787L;
+
+        @JsonField
+        private String name;
+
+    }
+
+}
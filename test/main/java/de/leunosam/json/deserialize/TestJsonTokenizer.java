@@ -0,0 +1,130 @@
+package de.leunosam.json.deserialize;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class TestJsonTokenizer {
+
+    @Test
+    void testFields() {
+        String json = " {\"id\" : 17, \"name\":\"a,b}\",\n\"nested\":{\"x\":[1,{\"y\":\"]\"}]},"
+                + "\"empty\":null, \"flag\":true, \"d\":-1.5e3}";
+        JsonTokenizer tokenizer = new JsonTokenizer(json);
+        tokenizer.beginObject();
+
+        assertTrue(tokenizer.nextField());
+        assertTrue(tokenizer.nameEquals("id"));
+        assertEquals(17, tokenizer.readInteger());
+
+        assertTrue(tokenizer.nextField());
+        assertEquals("name", tokenizer.getName());
+        assertEquals("a,b}", tokenizer.readString());
+
+        assertTrue(tokenizer.nextField());
+        assertTrue(tokenizer.nameEquals("nested"));
+        tokenizer.skipValue();
+        assertEquals("{\"x\":[1,{\"y\":\"]\"}]}", tokenizer.getValue());
+
+        assertTrue(tokenizer.nextField());
+        assertEquals(null, tokenizer.readLong());
+
+        assertTrue(tokenizer.nextField());
+        assertEquals(true, tokenizer.readBoolean());
+
+        assertTrue(tokenizer.nextField());
+        assertEquals(-1500d, tokenizer.readDouble());
+
+        assertFalse(tokenizer.nextField());
+        tokenizer.endOfInput();
+    }
+
+    @Test
+    void testOffsets() {
+        String json = "[ 10 , \"abc\" ]";
+        JsonTokenizer tokenizer = new JsonTokenizer(json);
+        tokenizer.beginArray();
+        assertTrue(tokenizer.nextElement());
+        tokenizer.skipValue();
+        assertAll(() -> assertEquals(2, tokenizer.getValueStart()),
+                () -> assertEquals(4, tokenizer.getValueEnd()));
+        assertTrue(tokenizer.nextElement());
+        tokenizer.skipValue();
+        assertAll(() -> assertEquals(7, tokenizer.getValueStart()),
+                () -> assertEquals(12, tokenizer.getValueEnd()));
+        assertFalse(tokenizer.nextElement());
+    }
+
+    @Test
+    void testCountElements() {
+        assertEquals(0, new JsonTokenizer(" [ \n ]").countElements());
+        assertEquals(1, new JsonTokenizer("[\"a,b\"]").countElements());
+        assertEquals(3, new JsonTokenizer("[{\"a\":[1,2]}, [3,4] ,\"]\"]").countElements());
+    }
+
+    @Test
+    void testUtf8() {
+        byte[] json = "{\"größe\":1.5,\"€\":\"ä\uD83D\uDE00\"}".getBytes(StandardCharsets.UTF_8);
+        JsonTokenizer tokenizer = new JsonTokenizer(json, 0, json.length);
+        tokenizer.beginObject();
+        assertTrue(tokenizer.nextField());
+        assertFalse(tokenizer.nameEquals("grösse"));
+        assertFalse(tokenizer.nameEquals("größ"));
+        assertTrue(tokenizer.nameEquals("größe"));
+        assertEquals(1.5d, tokenizer.parseDouble());
+        assertTrue(tokenizer.nextField());
+        assertEquals("€", tokenizer.getName());
+        assertEquals("ä\uD83D\uDE00", tokenizer.readString());
+        assertFalse(tokenizer.nextField());
+    }
+
+    @Test
+    void testLongStrings() {
+        // the quotes are at every position of an 8-byte word
+        for (int length = 0; length < 20; length++) {
+            String text = "ä{[,:x]}".repeat(3).substring(0, length);
+            String json = "[\"" + text + "\",{\"" + text + "\":\"" + text + "\"}]";
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            for (JsonTokenizer tokenizer : new JsonTokenizer[] { new JsonTokenizer(json),
+                    new JsonTokenizer(new StringBuilder(json)),
+                    new JsonTokenizer(bytes, 0, bytes.length) }) {
+                tokenizer.beginArray();
+                assertTrue(tokenizer.nextElement());
+                assertEquals(text, tokenizer.readString());
+                assertTrue(tokenizer.nextElement());
+                tokenizer.skipValue();
+                assertEquals("{\"" + text + "\":\"" + text + "\"}", tokenizer.getValue());
+                assertFalse(tokenizer.nextElement());
+            }
+            // the last String is unterminated
+            JsonTokenizer truncated = new JsonTokenizer(bytes, 0, bytes.length - 3);
+            assertThrows(JsonDeserializationException.class, truncated::skipValue);
+        }
+    }
+
+    @Test
+    void testMalformed() {
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonDeserializer.readFields("{\"id\":1"));
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonDeserializer.readFields("{\"id\" 1}"));
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonDeserializer.readFields("{\"id\":{\"a\":[1,2}"));
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonDeserializer.readStringList("[\"abc]"));
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonDeserializer.readIntegerValue("1 2"));
+        for (String json : new String[] { "{\"id\":1 \"id\":2}", "{,\"id\":1}", "{\"id\":1,}",
+                "{\"a\":1,,\"b\":2}", "{,}", "{\"a\":{\"b\":1}\"c\":2}" }) {
+            assertThrows(JsonDeserializationException.class,
+                    () -> JsonDeserializer.readFields(json));
+        }
+    }
+
+}
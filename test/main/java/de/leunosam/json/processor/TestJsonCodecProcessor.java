@@ -0,0 +1,181 @@
+package de.leunosam.json.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.util.JsonCodecs;
+
+class TestJsonCodecProcessor {
+
+    private static final String SOURCE = String.join("\n", //
+            "package sample;", //
+            "import java.util.List;", //
+            "import de.leunosam.json.Json;", //
+            "import de.leunosam.json.util.JsonClass;", //
+            "import de.leunosam.json.util.JsonField;", //
+            "@JsonClass", //
+            "public class Car extends Vehicle {", //
+            "    @JsonField(\"car-id\") public String id = \"M-AB 123\";", //
+            "    @JsonField public int horsePower = 120;", //
+            "    @JsonField public Double price;", //
+            "    @JsonField public Boolean electric = false;", //
+            "    @JsonField public boolean used = true;", //
+            "    @JsonField public long[] mileage = { 1L, 20000L };", //
+            "    @JsonField public List<String> drivers = List.of(\"Anna\", \"Tom\");", //
+            "    @JsonField public Wheel spare = new Wheel();", //
+            "    @JsonField(parallel = true) public List<Wheel> wheels =", //
+            "            List.of(new Wheel(), new Wheel());", //
+            "    public static class Wheel extends Json {", //
+            "        @JsonField public Integer size = 17;", //
+            "    }", //
+            "    private class Inner extends Json {", //
+            "        @JsonField Integer size;", //
+            "    }", //
+            "    public static class Box<T> extends Json {", //
+            "        @JsonField public Integer size = 1;", //
+            "    }", //
+            "    public static class Note extends Json {", //
+            "        @JsonField(\"line\\nbreak\") public String text;", //
+            "    }", //
+            "    private static class Hidden {", //
+            "        public static class Visible extends Json {", //
+            "            @JsonField public Integer size;", //
+            "        }", //
+            "    }", //
+            "}");
+
+    private static final String SUPER_SOURCE = String.join("\n", //
+            "package sample;", //
+            "import de.leunosam.json.Json;", //
+            "import de.leunosam.json.util.JsonField;", //
+            "public abstract class Vehicle extends Json {", //
+            "    @JsonField String brand = \"VW\";", //
+            "}");
+
+    // its codec must not collide with the one of Car.Wheel
+    private static final String FLAT_SOURCE = String.join("\n", //
+            "package sample;", //
+            "import de.leunosam.json.Json;", //
+            "import de.leunosam.json.util.JsonField;", //
+            "public class Car_Wheel extends Json {", //
+            "    @JsonField public String position = \"front\";", //
+            "}");
+
+    @Test
+    void testGeneratedCodec() throws Exception {
+        Path dir = Files.createTempDirectory("codec");
+        Path sample = dir.resolve("sample");
+        Path source = sample.resolve("Car.java");
+        Files.createDirectories(sample);
+        Files.writeString(source, SOURCE);
+        Path superSource = sample.resolve("Vehicle.java");
+        Files.writeString(superSource, SUPER_SOURCE);
+        Path flatSource = sample.resolve("Car_Wheel.java");
+        Files.writeString(flatSource, FLAT_SOURCE);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream messages = new ByteArrayOutputStream();
+        // skipped classes and the generated codecs cause no warnings or notes
+        int result = compiler.run(null, null, messages, "-proc:only", "-Xlint:all", "-Werror",
+                "-processor", JsonCodecProcessor.class.getName(), "-cp",
+                System.getProperty("java.class.path"), "-s", dir.toString(), "-d",
+                dir.toString(), source.toString(), superSource.toString(), flatSource.toString());
+        assertEquals("", messages.toString());
+        assertEquals(0, result);
+        assertTrue(Files.exists(sample.resolve("Car_JsonCodec.java")));
+        assertTrue(Files.exists(sample.resolve("Car$Wheel_JsonCodec.java")));
+        assertTrue(Files.exists(sample.resolve("Car$Box_JsonCodec.java")));
+        assertTrue(Files.exists(sample.resolve("Car_Wheel_JsonCodec.java")));
+        assertFalse(Files.exists(sample.resolve("Car$Inner_JsonCodec.java")));
+        assertFalse(Files.exists(sample.resolve("Car$Hidden$Visible_JsonCodec.java")));
+        assertFalse(Files.exists(sample.resolve("Car$Note_JsonCodec.java")));
+        assertFalse(Files.exists(sample.resolve("Vehicle_JsonCodec.java")));
+        assertTrue(Files.readString(sample.resolve("Car_JsonCodec.java"))
+                .contains("serializer.addObjectArrayFieldParallel(\"wheels\", json.wheels);"));
+
+        result = compiler.run(null, null, messages, "-proc:none", "-Xlint:rawtypes,unchecked",
+                "-Werror", "-cp", System.getProperty("java.class.path"), "-d", dir.toString(),
+                source.toString(), superSource.toString(), flatSource.toString(),
+                sample.resolve("Car_JsonCodec.java").toString(),
+                sample.resolve("Car$Wheel_JsonCodec.java").toString(),
+                sample.resolve("Car$Box_JsonCodec.java").toString(),
+                sample.resolve("Car_Wheel_JsonCodec.java").toString());
+        assertEquals("", messages.toString());
+        assertEquals(0, result);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() },
+                getClass().getClassLoader())) {
+            Class<? extends Json> carClass = loader.loadClass("sample.Car").asSubclass(Json.class);
+            assertNotNull(JsonCodecs.getCodec(carClass));
+            Class<? extends Json> boxClass = loader.loadClass("sample.Car$Box")
+                    .asSubclass(Json.class);
+            assertNotNull(JsonCodecs.getCodec(boxClass));
+            Json box = boxClass.getConstructor().newInstance();
+            box.deserialize("{\"size\":3}");
+            assertEquals("{\"size\":3}", box.serialize());
+
+            Class<? extends Json> wheelClass = loader.loadClass("sample.Car$Wheel")
+                    .asSubclass(Json.class);
+            assertEquals("sample.Car$Wheel_JsonCodec",
+                    JsonCodecs.getCodec(wheelClass).getClass().getName());
+            Class<? extends Json> flatClass = loader.loadClass("sample.Car_Wheel")
+                    .asSubclass(Json.class);
+            assertEquals("sample.Car_Wheel_JsonCodec",
+                    JsonCodecs.getCodec(flatClass).getClass().getName());
+            assertEquals("{\"position\":\"front\"}",
+                    flatClass.getConstructor().newInstance().serialize());
+
+            Json car = carClass.getConstructor().newInstance();
+            String expected = "{\"class\":\"Car\",\"brand\":\"VW\",\"car-id\":\"M-AB 123\","
+                    + "\"horsePower\":120,\"price\":null,\"electric\":false,\"used\":true,"
+                    + "\"mileage\":[1,20000],\"drivers\":[\"Anna\",\"Tom\"],"
+                    + "\"spare\":{\"size\":17},\"wheels\":[{\"size\":17},{\"size\":17}]}";
+            assertEquals(expected, car.serialize());
+
+            Json copy = carClass.getConstructor().newInstance();
+            copy.deserialize("{\"brand\":\"BMW\",\"car-id\":\"B-C 1\",\"unknown\":[1,{\"a\":2}],"
+                    + "\"horsePower\":90,\"price\":1.5,\"electric\":null,\"mileage\":[3],"
+                    + "\"drivers\":[],\"spare\":null,\"wheels\":[{\"size\":15}]}");
+            assertEquals("{\"class\":\"Car\",\"brand\":\"BMW\",\"car-id\":\"B-C 1\","
+                    + "\"horsePower\":90,\"price\":1.5,\"electric\":null,\"used\":true,"
+                    + "\"mileage\":[3],\"drivers\":[],\"spare\":null,"
+                    + "\"wheels\":[{\"size\":15}]}", copy.serialize());
+
+            // missing fields and null for a primitive get the values of a new instance
+            copy.deserialize("{\"horsePower\":null,\"electric\":null,\"used\":null}");
+            assertEquals(expected.replace("\"electric\":false", "\"electric\":null"),
+                    copy.serialize());
+
+            copy.deserialize(expected);
+            assertEquals(car, copy);
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        List<Path> paths = Files.walk(dir).sorted((a, b) -> b.compareTo(a)).toList();
+        for (Path path : paths) {
+            path.toFile().delete();
+        }
+        assertFalse(new File(dir.toString()).exists());
+    }
+
+}
@@ -0,0 +1,107 @@
+package de.leunosam.json.serialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.deserialize.JsonLinesReader;
+import de.leunosam.json.deserialize.JsonReflectiveDeserializer;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonLinesWriter {
+
+    @Test
+    void testWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonLinesWriter writer = new JsonLinesWriter(out, 48);
+        writer.write(measurement("€", 1.5));
+        // nothing is written, until the buffer is full
+        assertEquals(0, out.size());
+        writer.write(null);
+        writer.write(measurement("b", null));
+        String expected = "{\"sensor\":\"€\",\"value\":1.5}\nnull\n"
+                + "{\"sensor\":\"b\",\"value\":null}\n";
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        writer.write(measurement("c", -2.0));
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        writer.close();
+        assertEquals(expected + "{\"sensor\":\"c\",\"value\":-2.0}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFailedWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonLinesWriter writer = new JsonLinesWriter(out)) {
+            writer.write(measurement("a", 1.0));
+            Broken broken = new Broken();
+            broken.sensor = "b";
+            assertThrows(JsonSerializationException.class, () -> writer.write(broken));
+            writer.write(measurement("c", 3.0));
+        }
+        assertEquals("{\"sensor\":\"a\",\"value\":1.0}\n{\"sensor\":\"c\",\"value\":3.0}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Path file = Files.createTempFile("measurements", ".ndjson");
+        try {
+            try (JsonLinesWriter writer = JsonLinesWriter.open(file)) {
+                for (int i = 0; i < 10000; i++) {
+                    writer.write(measurement("sensor " + i % 7, i / 8.0));
+                }
+            }
+            try (JsonLinesReader<Measurement> reader = JsonLinesReader.open(file,
+                    JsonReflectiveDeserializer.of(Measurement.class))) {
+                for (int i = 0; i < 10000; i++) {
+                    assertEquals(measurement("sensor " + i % 7, i / 8.0), reader.read());
+                }
+                assertNull(reader.read());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static Measurement measurement(String sensor, Double value) {
+        Measurement measurement = new Measurement();
+        measurement.sensor = sensor;
+        measurement.value = value;
+        return measurement;
+    }
+
+    private static class Broken extends Json {
+
+        private static final long serialVersionUID = 6377364524389128165L;
+
+        @JsonField
+        private String sensor;
+        // a List of Lists is not supported, after the sensor
+        @JsonField
+        private List<List<String>> rows = List.of(List.of("x"));
+
+    }
+
+    private static class Measurement extends Json {
+
+        private static final long serialVersionUID = -4321683218409387342L;
+
+        @JsonField
+        private String sensor;
+        @JsonField
+        private Double value;
+
+    }
+
+}
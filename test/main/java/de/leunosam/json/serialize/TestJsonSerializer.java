@@ -1,9 +1,16 @@
 package de.leunosam.json.serialize;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
@@ -134,6 +141,176 @@ class TestJsonSerializer {
                 + "\"houseNumber\":null}]}", l.toString());
     }
 
+    @Test
+    void testParallelListSerialization() throws Exception {
+        Street street = new Street();
+        street.homes = new ArrayList<>();
+        StringBuilder expected = new StringBuilder("{\"homes\":[");
+        for (int i = 0; i < 5000; i++) {
+            Home home = null;
+            if (i % 7 != 0) {
+                home = new Home();
+                home.city = "Köln \uD83D\uDE00";
+                home.houseNumber = i;
+            }
+            street.homes.add(home);
+            expected.append(i == 0 ? "" : ",").append(home == null ? "null" : home.serialize());
+        }
+        expected.append("]}");
+
+        // the pool of the caller is used, so the List is split even on a single core
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected.toString(), pool.submit(() -> street.serialize()).get());
+            StringWriter writer = new StringWriter();
+            pool.submit(() -> street.serialize(writer)).get();
+            assertEquals(expected.toString(), writer.toString());
+            JsonByteArrayOutput bytes = new JsonByteArrayOutput();
+            pool.submit(() -> street.serialize(bytes)).get();
+            assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8),
+                    bytes.toByteArray());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected.toString(), street.serialize());
+    }
+
+    @Test
+    void testPrimitiveArraySerialization() {
+        PrimitiveArrays a = new PrimitiveArrays();
+        a.booleans = new boolean[] { true, false };
+        a.ints = new int[] { Integer.MIN_VALUE, 0, 42 };
+        a.longs = new long[] { 7816421378l };
+        a.doubles = new double[] {};
+        assertEquals("{\"booleans\":[true,false],\"ints\":[-2147483648,0,42],"
+                + "\"longs\":[7816421378],\"doubles\":[]}", a.serialize());
+        a.doubles = null;
+        assertEquals("{\"booleans\":[true,false],\"ints\":[-2147483648,0,42],"
+                + "\"longs\":[7816421378],\"doubles\":null}", a.serialize());
+    }
+
+    @Test
+    void testStreamingSerialization() {
+        Employee e = new Employee();
+        Home h = new Home();
+        h.city = "Berlin";
+        e.home = h;
+        e.money = 20.5d;
+        StringWriter writer = new StringWriter();
+        e.serialize(writer);
+        assertEquals(e.serialize(), writer.toString());
+    }
+
+    @Test
+    void testUtf8Serialization() {
+        Employee e = new Employee();
+        Home h = new Home();
+        e.id = Integer.MIN_VALUE;
+        e.birthDate = Long.MIN_VALUE;
+        e.money = -1.5e-7d;
+        e.name = "Käåé®«ñµæ©béüúíóöïœø¶ \uD83D\uDE00 \u20AC";
+        h.city = "Düsseldorf";
+        e.home = h;
+        byte[] expected = e.serialize().getBytes(StandardCharsets.UTF_8);
+
+        JsonByteArrayOutput arrayOutput = new JsonByteArrayOutput(4);
+        e.serialize(arrayOutput);
+        assertArrayEquals(expected, arrayOutput.toByteArray());
+        arrayOutput.reset();
+        e.serialize(arrayOutput);
+        assertArrayEquals(expected, arrayOutput.toByteArray());
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        e.serialize(new JsonByteBufferOutput(buffer));
+        byte[] bufferContent = new byte[buffer.flip().remaining()];
+        buffer.get(bufferContent);
+        assertArrayEquals(expected, bufferContent);
+
+        // a partial Json is removed again
+        ByteBuffer small = ByteBuffer.allocate(10).put((byte) ' ');
+        assertThrows(JsonSerializationException.class,
+                () -> e.serialize(new JsonByteBufferOutput(small)));
+        assertEquals(1, small.position());
+    }
+
+    @Test
+    void testCustomSerializer() {
+        Garage g = new Garage();
+        g.owner = new Owner();
+        g.owner.name = "Alice";
+        assertEquals("{\"owner\":{\"custom\":\"Alice\"}}", g.serialize());
+        StringWriter writer = new StringWriter();
+        g.serialize(writer);
+        assertEquals(g.serialize(), writer.toString());
+        assertEquals("{}", new JsonSerializer().toString());
+    }
+
+    @Test
+    void testNumbersToAppendable() {
+        List<String> appended = new ArrayList<>();
+        Appendable out = new Appendable() {
+
+            @Override
+            public Appendable append(CharSequence csq) {
+                appended.add(csq.toString());
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                return append(csq.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c) {
+                return append(String.valueOf(c));
+            }
+        };
+        JsonSerializer serializer = new JsonSerializer(out);
+        serializer.addLongField("l", -1234567890123L);
+        serializer.addDoubleField("d", 0.1);
+        serializer.finish();
+        assertEquals("{\"l\":-1234567890123,\"d\":0.1}", String.join("", appended));
+        // the digits of a number are appended at once
+        assertTrue(appended.contains("-1234567890123"));
+        assertTrue(appended.contains("0.1"));
+    }
+
+    @Test
+    void testNumbersToWriter() {
+        List<String> written = new ArrayList<>();
+        StringWriter out = new StringWriter() {
+
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+                written.add(new String(cbuf, off, len));
+                super.write(cbuf, off, len);
+            }
+
+            @Override
+            public StringWriter append(CharSequence csq, int start, int end) {
+                throw new UnsupportedOperationException("the chars are written directly");
+            }
+        };
+        JsonSerializer serializer = new JsonSerializer(out);
+        serializer.addLongField("l", Long.MIN_VALUE);
+        serializer.addDoubleField("d", -2.5E-7);
+        serializer.finish();
+        assertEquals("{\"l\":-9223372036854775808,\"d\":-2.5E-7}", out.toString());
+        assertEquals(List.of("-9223372036854775808", "-2.5E-7"), written);
+    }
+
+    @Test
+    void testInheritedFields() {
+        Manager m = new Manager();
+        m.name = "Bob";
+        m.id = 3;
+        m.number = 7;
+        m.team = List.of("Alice");
+        assertEquals("{\"class\":\"Manager\",\"name\":\"Bob\",\"id\":7,"
+                + "\"team\":[\"Alice\"]}", m.serialize());
+    }
+
     @Test
     void testIllegalObjects() {
         IllegalField field = new IllegalField();
@@ -208,6 +385,98 @@ class TestJsonSerializer {
         }
     }
 
+    private class Street extends Json {
+
+        private static final long serialVersionUID = 3497409133946802465L;
+
+        @JsonField(parallel = true)
+        private List<Home> homes;
+
+        @Override
+        protected JsonDeserializer<? extends Json> getDeserializer() {
+            return null;
+        }
+    }
+
+    private class Garage extends Json {
+
+        private static final long serialVersionUID = 1645326372961452734L;
+
+        @JsonField
+        private Owner owner;
+
+        @Override
+        protected JsonDeserializer<? extends Json> getDeserializer() {
+            return null;
+        }
+    }
+
+    private class Owner extends Json {
+
+        private static final long serialVersionUID = -4386218562180537283L;
+
+        @JsonField
+        private String name;
+
+        @Override
+        protected JsonDeserializer<? extends Json> getDeserializer() {
+            return null;
+        }
+
+        @Override
+        protected JsonSerializer getSerializer() {
+            JsonSerializer serializer = new JsonSerializer();
+            serializer.addStringField("custom", name);
+            return serializer;
+        }
+    }
+
+    private abstract class Person extends Json {
+
+        private static final long serialVersionUID = -2283658915201553461L;
+
+        @JsonField
+        protected String name;
+        @JsonField
+        protected Integer id;
+
+        @Override
+        protected JsonDeserializer<? extends Json> getDeserializer() {
+            return null;
+        }
+    }
+
+    @JsonClass
+    private class Manager extends Person {
+
+        private static final long serialVersionUID = 6718209360157240893L;
+
+        // replaces the inherited id
+        @JsonField("id")
+        private Integer number;
+        @JsonField
+        private List<String> team;
+    }
+
+    private class PrimitiveArrays extends Json {
+
+        private static final long serialVersionUID = 4426150227710263894L;
+
+        @JsonField
+        private boolean[] booleans;
+        @JsonField
+        private int[] ints;
+        @JsonField
+        private long[] longs;
+        @JsonField
+        private double[] doubles;
+
+        @Override
+        protected JsonDeserializer<? extends Json> getDeserializer() {
+            return null;
+        }
+    }
+
     private class IllegalField extends Json {
 
         private static final long serialVersionUID = -2221606998951959283L;
@@ -0,0 +1,113 @@
+package de.leunosam.json.serialize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+import de.leunosam.json.deserialize.JsonDeserializer;
+import de.leunosam.json.deserialize.JsonReader;
+import de.leunosam.json.deserialize.JsonReflectiveDeserializer;
+import de.leunosam.json.util.JsonField;
+
+class TestJsonWriter {
+
+    private static final JsonDeserializer<Point> DESERIALIZER = JsonReflectiveDeserializer
+            .of(Point.class);
+
+    @Test
+    void testWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("id").value(-12345678901L);
+            writer.name("price").value(1.5);
+            writer.name("active").value(true);
+            writer.name("name").value("€");
+            writer.name("none").value((String) null);
+            writer.name("point").value(point(1, -2.5));
+            writer.name("empty").beginObject().endObject();
+            writer.name("list").beginArray().value(1).nullValue().beginArray().endArray()
+                    .value((Json) null).endArray();
+            writer.endObject();
+        }
+        assertEquals("{\"id\":-12345678901,\"price\":1.5,\"active\":true,\"name\":\"€\","
+                + "\"none\":null,\"point\":{\"x\":1.0,\"y\":-2.5},\"empty\":{},"
+                + "\"list\":[1,null,[],null]}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLargeArray() throws IOException {
+        int[] maxWrite = new int[1];
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                maxWrite[0] = Math.max(maxWrite[0], len);
+                super.write(b, off, len);
+            }
+        };
+        try (JsonWriter writer = new JsonWriter(out, 1024)) {
+            writer.beginArray();
+            for (int i = 0; i < 10000; i++) {
+                writer.value(point(i, i / 8.0));
+            }
+            writer.endArray();
+        }
+        // the buffer is written, as soon as it exceeds its size
+        assertTrue(maxWrite[0] < 1024 + 64, "max write " + maxWrite[0]);
+        try (JsonReader reader = new JsonReader(new ByteArrayInputStream(out.toByteArray()))) {
+            reader.beginArray();
+            for (int i = 0; i < 10000; i++) {
+                assertEquals(point(i, i / 8.0), reader.readObject(DESERIALIZER));
+            }
+            reader.endArray();
+            reader.endOfInput();
+        }
+    }
+
+    @Test
+    void testInvalidOrder() throws IOException {
+        JsonWriter writer = new JsonWriter(OutputStream.nullOutputStream());
+        writer.beginObject();
+        assertThrows(JsonSerializationException.class, () -> writer.value(1));
+        assertThrows(JsonSerializationException.class, writer::endArray);
+        writer.name("a");
+        assertThrows(JsonSerializationException.class, () -> writer.name("b"));
+        assertThrows(JsonSerializationException.class, writer::endObject);
+        writer.value(1).endObject();
+        assertThrows(JsonSerializationException.class, () -> writer.value(2));
+        writer.close();
+
+        JsonWriter incomplete = new JsonWriter(OutputStream.nullOutputStream());
+        incomplete.beginArray();
+        assertThrows(JsonSerializationException.class, incomplete::close);
+    }
+
+    private static Point point(double x, double y) {
+        Point point = new Point();
+        point.x = x;
+        point.y = y;
+        return point;
+    }
+
+    private static class Point extends Json {
+
+        private static final long serialVersionUID = -4390112307938524518L;
+
+        @JsonField
+        private double x;
+        @JsonField
+        private double y;
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package de.leunosam.json.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import de.leunosam.json.Json;
+
+class TestJsonFields {
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        List<Class<? extends Json>> classes = List.of(Point.class, Line.class, Empty.class);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<List<JsonFieldAccessor>>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<List<JsonFieldAccessor>> result = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) {
+                        for (Class<? extends Json> jsonClass : classes) {
+                            result.add(JsonFields.getAccessors(jsonClass));
+                            JsonFields.getJsonFields(jsonClass);
+                        }
+                    }
+                    return result;
+                }));
+            }
+            start.countDown();
+            for (Future<List<List<JsonFieldAccessor>>> future : futures) {
+                List<List<JsonFieldAccessor>> result = future.get();
+                for (int i = 0; i < result.size(); i++) {
+                    // every thread has to see the same, completely initialized list
+                    assertSame(JsonFields.getAccessors(classes.get(i % classes.size())),
+                            result.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, JsonFields.getAccessors(Point.class).size());
+        assertEquals("y", JsonFields.getAccessors(Point.class).get(1).getJsonName());
+        assertEquals(1, JsonFields.getJsonFields(Line.class).size());
+        assertEquals(0, JsonFields.getAccessors(Empty.class).size());
+    }
+
+    @Test
+    void testUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> JsonFields.getAccessors(Point.class).clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> JsonFields.getJsonFields(Point.class).clear());
+    }
+
+    private static class Point extends Json {
+
+        private static final long serialVersionUID = -2290532738475811620L;
+
+        @JsonField
+        private Integer x;
+        @JsonField
+        private Integer y;
+
+    }
+
+    private static class Line extends Json {
+
+        private static final long serialVersionUID = 7436220180954417871L;
+
+        @JsonField
+        private List<Point> points;
+
+    }
+
+    private static class Empty extends Json {
+
+        private static final long serialVersionUID = 5016939327153820043L;
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package de.leunosam.json.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class TestJsonNumbers {
+
+    @Test
+    void testWriteDouble() {
+        assertEquals("0.0", format(0.0));
+        assertEquals("-0.0", format(-0.0));
+        assertEquals("1.0", format(1.0));
+        assertEquals("-1.5", format(-1.5));
+        assertEquals("0.1", format(0.1));
+        assertEquals("0.001", format(0.001));
+        assertEquals("9.99E-4", format(0.000999));
+        assertEquals("1234567.0", format(1234567.0));
+        assertEquals("9999999.999", format(9999999.999));
+        assertEquals("1.0E7", format(1e7));
+        assertEquals("1.2345678E7", format(12345678.0));
+        assertEquals("1.0E-5", format(1e-5));
+        assertEquals("4.9E-324", format(Double.MIN_VALUE));
+        assertEquals("1.7976931348623157E308", format(Double.MAX_VALUE));
+        assertEquals("-2.2250738585072014E-308", format(-Double.MIN_NORMAL));
+        assertEquals("NaN", format(Double.NaN));
+        assertEquals("-Infinity", format(Double.NEGATIVE_INFINITY));
+        // Double.toString of older JDKs doesn't write the shortest digits
+        assertEquals("1.0E23", format(1e23));
+        assertEquals("2.82879384806159E17", format(2.82879384806159E17));
+    }
+
+    @Test
+    void testRoundTrip() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int i = 0; i < 100_000; i++) {
+            double d = switch (i % 3) {
+            case 0 -> Double.longBitsToDouble(random.nextLong());
+            case 1 -> random.nextDouble() * Math.pow(10, random.nextInt(-30, 30));
+            default -> random.nextLong(-100_000_000, 100_000_000) / 1e4;
+            };
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            String s = format(d);
+            assertEquals(d, JsonNumbers.parseDouble(s, 0, s.length()), s);
+            // at most as many digits as the JDK writes
+            assertEquals(true, s.length() <= Double.toString(d).length(), s);
+        }
+    }
+
+    @Test
+    void testParseDouble() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder s = new StringBuilder(random.nextBoolean() ? "-" : "");
+            appendDigits(s, random, random.nextInt(1, 25));
+            if (random.nextBoolean()) {
+                appendDigits(s.append('.'), random, random.nextInt(1, 25));
+            }
+            if (random.nextBoolean()) {
+                s.append(random.nextBoolean() ? "e-" : "E+").append(random.nextInt(350));
+            }
+            assertParsed(s.toString());
+        }
+        // halfway between two doubles, only the exact digits decide
+        for (int i = 0; i < 10_000; i++) {
+            double d = Math.abs(Double.longBitsToDouble(random.nextLong()));
+            if (Double.isFinite(d) && d != Double.MAX_VALUE) {
+                BigDecimal middle = new BigDecimal(d).add(new BigDecimal(Math.nextUp(d)))
+                        .divide(BigDecimal.valueOf(2));
+                assertParsed(middle.toString());
+                assertParsed(middle.toPlainString());
+            }
+        }
+        for (String s : new String[] { "0", "-0.0", "00012", "1E+2", "1e400", "1e-400",
+                "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+                "1.7976931348623158e308", "1.7976931348623159e308", "9007199254740993",
+                "123456789012345678901234567890", "0.000000000000000000000000000001", "1.",
+                ".5", "NaN", "-Infinity", "0x1p3", "1d" }) {
+            assertParsed(s);
+        }
+        assertEquals(2.5, JsonNumbers.parseDouble("[2.5]", 1, 4));
+        assertThrows(NumberFormatException.class, () -> JsonNumbers.parseDouble("1e", 0, 2));
+        assertThrows(NumberFormatException.class, () -> JsonNumbers.parseDouble("-", 0, 1));
+    }
+
+    @Test
+    void testWriteLong() {
+        byte[] buffer = new byte[JsonNumbers.MAX_LENGTH + 1];
+        SplittableRandom random = new SplittableRandom(25);
+        for (int i = 0; i < 10_000; i++) {
+            long l = switch (i) {
+            case 0 -> 0;
+            case 1 -> Long.MIN_VALUE;
+            case 2 -> Long.MAX_VALUE;
+            case 3 -> 1_000_000_000_000_000_000L;
+            default -> random.nextLong() >> random.nextInt(64);
+            };
+            int end = JsonNumbers.writeLong(l, buffer, 1);
+            assertEquals(Long.toString(l),
+                    new String(buffer, 1, end - 1, StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static void assertParsed(String s) {
+        assertEquals(Double.parseDouble(s), JsonNumbers.parseDouble(s, 0, s.length()), s);
+    }
+
+    private static void appendDigits(StringBuilder s, SplittableRandom random, int count) {
+        for (int i = 0; i < count; i++) {
+            s.append((char) ('0' + random.nextInt(10)));
+        }
+    }
+
+    private static String format(double d) {
+        byte[] buffer = new byte[JsonNumbers.MAX_LENGTH + 2];
+        int end = JsonNumbers.writeDouble(d, buffer, 2);
+        return new String(buffer, 2, end - 2, StandardCharsets.US_ASCII);
+    }
+
+}